@@ -1,5 +1,9 @@
 package at.ac.fhcampuswien.fhmdb;
 
+import at.ac.fhcampuswien.fhmdb.api.CatalogSync;
+import at.ac.fhcampuswien.fhmdb.api.HttpClientProvider;
+import at.ac.fhcampuswien.fhmdb.concurrent.BackgroundExecutor;
+import at.ac.fhcampuswien.fhmdb.models.WatchlistRepository;
 import at.ac.fhcampuswien.fhmdb.patterns.Factory;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -12,16 +16,33 @@ import java.util.Objects;
 public class FhmdbApplication extends Application {
     @Override
     public void start(Stage stage) throws IOException {
+        long start = System.nanoTime();
         FXMLLoader fxmlLoader = new FXMLLoader(FhmdbApplication.class.getResource("home-view.fxml"));
         fxmlLoader.setControllerFactory(Factory.getFactory());
         Scene scene = new Scene(fxmlLoader.load(), 890, 620);
+        StartupPipeline.reached("fxml", start);
         scene.getStylesheets().add(Objects.requireNonNull(FhmdbApplication.class.getResource("styles.css")).toExternalForm());
         stage.setTitle("FHMDb");
         stage.setScene(scene);
         stage.show();
+        StartupPipeline.reached("stage shown", start);
+        CatalogSync.getInstance().start();
+    }
+
+    @Override
+    public void stop() {
+        // Hintergrund-Abgleich zuerst stoppen, er braucht HTTP-Client und Datenbank
+        CatalogSync.getInstance().shutdown();
+        // Noch offene Watchlist-Änderungen vor dem Beenden schreiben
+        WatchlistRepository.getInstance().shutdown();
+        // Verbindungen und Dispatcher-Threads sauber freigeben
+        HttpClientProvider.shutdown();
+        BackgroundExecutor.shutdown();
     }
 
     public static void main(String[] args) {
+        // Snapshot, Hibernate und Cache laden parallel, während JavaFX startet
+        StartupPipeline.begin();
         launch();
     }
 }
\ No newline at end of file
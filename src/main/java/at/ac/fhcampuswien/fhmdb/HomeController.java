@@ -1,8 +1,11 @@
 package at.ac.fhcampuswien.fhmdb;
 
+import at.ac.fhcampuswien.fhmdb.api.CatalogSync;
 import at.ac.fhcampuswien.fhmdb.api.MovieAPI;
+import at.ac.fhcampuswien.fhmdb.api.PagedMovieLoader;
+import at.ac.fhcampuswien.fhmdb.concurrent.BackgroundExecutor;
+import at.ac.fhcampuswien.fhmdb.concurrent.Debouncer;
 import at.ac.fhcampuswien.fhmdb.exceptions.DatabaseException;
-import at.ac.fhcampuswien.fhmdb.exceptions.MovieApiException;
 import at.ac.fhcampuswien.fhmdb.models.*;
 import at.ac.fhcampuswien.fhmdb.models.sorting.SortState;
 import at.ac.fhcampuswien.fhmdb.models.sorting.UnsortedState;
@@ -20,6 +23,7 @@ import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.stage.Stage;
 import javafx.stage.Window;
@@ -27,6 +31,8 @@ import javafx.stage.Window;
 import java.io.IOException;
 import java.net.URL;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import static at.ac.fhcampuswien.fhmdb.ui.AlertUtility.showError;
@@ -51,6 +57,21 @@ public class HomeController implements Initializable, Observer {
     public List<Movie> allMovies;
     public final ObservableList<Movie> observableMovies = FXCollections.observableArrayList();
     private SortState sortState = new UnsortedState();
+    private MovieQueryEngine queryEngine;
+    // Mit -Dfhmdb.filter.remote=true wird weiterhin bei jedem Filter die API abgefragt
+    private final boolean remoteFiltering = Boolean.getBoolean("fhmdb.filter.remote");
+    private CompletableFuture<List<Movie>> pendingRequest;
+    // Nur das Ergebnis des zuletzt gestarteten Requests darf die Liste verändern
+    private long requestGeneration;
+    private final Debouncer filterDebouncer = new Debouncer(
+            Long.getLong("fhmdb.filter.debounceMs", 250L), BackgroundExecutor.fx());
+    // Paging beim Kaltstart (leerer Cache): 0 = gesamten Katalog auf einmal laden
+    private static final int PAGE_SIZE = Integer.getInteger("fhmdb.paging.pageSize", 20);
+    private static final int PREFETCH_ROWS = 5;
+    private PagedMovieLoader pagedLoader;
+    // true, solange der ungefilterte Katalog angezeigt wird (nur dann wird nachgeladen)
+    private boolean showingCatalog;
+    private final CatalogSync.Listener catalogListener = this::onCatalogChanged;
 
 
     public HomeController()
@@ -68,10 +89,16 @@ public class HomeController implements Initializable, Observer {
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
+        // Bis der Katalog da ist, zeigt die leere Liste einen Ladehinweis
+        movieListView.setPlaceholder(new Label("Loading movies..."));
         initializeState();
 
         movieListView.setItems(observableMovies);
-        movieListView.setCellFactory(_ -> new MovieCell(onAddToWatchlistClicked, "Add to Watchlist"));
+        movieListView.setCellFactory(_ -> {
+            MovieCell cell = new MovieCell(onAddToWatchlistClicked, "Add to Watchlist");
+            cell.indexProperty().addListener((_, _, index) -> onRowShown(index.intValue()));
+            return cell;
+        });
 
         genreComboBox.setPromptText("Filter by Genre");
         genreComboBox.getItems().addAll(Genre.values());
@@ -82,70 +109,176 @@ public class HomeController implements Initializable, Observer {
         watchlistBtn.setOnAction(_ -> switchToWatchlistView());
 
         WatchlistRepository.getInstance().addObserver(this);
+        CatalogSync.getInstance().addListener(catalogListener);
     }
 
     /**
-     * Lädt Filme aus der Datenbank oder über die API und befüllt die Liste.
+     * Lädt Filme aus dem Katalog-Snapshot, der Datenbank oder über die API und befüllt die Liste.
+     * Das Laden läuft im Hintergrund; die Liste wird danach auf dem FX-Thread befüllt.
+     * Beim ersten Aufruf läuft das Laden bereits seit main() (siehe StartupPipeline).
+     * Ist der Cache leer, wird zuerst nur eine Seite geladen und beim Scrollen nachgeladen.
      */
     public void initializeState() {
-        try {
-            MovieRepository repo = MovieRepository.getInstance();
-            List<MovieEntity> cachedMovies = repo.getAllMovies();
-
-            if (cachedMovies.isEmpty()) {
-                allMovies = MovieAPI.getMovies(null, null, null, null);
-                for (Movie movie : allMovies) {
-                    MovieEntity entity = new MovieEntity(
-                            movie.getId(),
-                            movie.getTitle(),
-                            movie.getDescription(),
-                            movie.getGenres().stream().map(Genre::name).collect(Collectors.joining(",")),
-                            movie.getReleaseYear(),
-                            movie.getImgUrl(),
-                            movie.getLengthInMinutes(),
-                            movie.getRating()
-                    );
-                    repo.addMovie(entity);
-                }
-                System.out.println("Movies loaded from API and cached in database.");
+        filterDebouncer.cancel();
+        long generation = cancelPending();
+        if (pagedLoader != null) {
+            pagedLoader.cancel();
+        }
+        PagedMovieLoader loader = PAGE_SIZE > 0 ? new PagedMovieLoader(null, null, null, null, PAGE_SIZE) : null;
+        pagedLoader = null;
+
+        CompletableFuture<List<Movie>> load = StartupPipeline
+                .storedCatalog()
+                .thenCompose(cached -> {
+                    if (!cached.isEmpty()) {
+                        return CompletableFuture.completedFuture(cached);
+                    }
+                    if (loader != null) {
+                        return loader.loadNext();
+                    }
+                    return MovieAPI.getMoviesAsync(null, null, null, null)
+                            .thenApplyAsync(this::cacheMovies, BackgroundExecutor.get());
+                });
+        pendingRequest = load;
+
+        load.whenCompleteAsync((movies, error) -> {
+            if (generation != requestGeneration) {
+                return;
+            }
+            if (error != null) {
+                Throwable cause = unwrap(error);
+                showError(
+                        movieListView.getScene().getWindow(),
+                        "Initialization Error",
+                        "Failed to load movie data",
+                        cause.getMessage()
+                );
+                movies = new ArrayList<>();
+            }
+            allMovies = new ArrayList<>(movies);
+            showingCatalog = true;
+            if (loader != null && loader.loadedAnyPage() && !loader.isExhausted()) {
+                // Katalog noch unvollständig -> bis zur letzten Seite remote filtern
+                pagedLoader = loader;
+                queryEngine = null;
             } else {
-                System.out.println("Movies loaded from database.");
-                allMovies = cachedMovies.stream()
-                        .map(entity -> new Movie(
-                                entity.getApiId(),
-                                entity.getTitle(),
-                                entity.getDescription(),
-                                Arrays.stream(entity.getGenres().split(","))
-                                        .map(Genre::valueOf)
-                                        .collect(Collectors.toList()),
-                                entity.getReleaseYear(),
-                                entity.getImgUrl(),
-                                entity.getLengthInMinutes(),
-                                new ArrayList<>(),
-                                new ArrayList<>(),
-                                new ArrayList<>(),
-                                entity.getRating()
-                        ))
-                        .collect(Collectors.toList());
+                completeCatalog(loader != null && loader.loadedAnyPage());
             }
-        } catch (DatabaseException | MovieApiException e) {
-            showError(
-                    movieListView.getScene().getWindow(),
-                    "Initialization Error",
-                    "Failed to load movie data",
-                    e.getMessage()
-            );
-            allMovies = new ArrayList<>();
+            observableMovies.setAll(allMovies);
+            movieListView.setPlaceholder(new Label("No movies found"));
+            StartupPipeline.firstListShown();
+
+            sortState = new UnsortedState();
+            if (sortBtn != null) {
+                sortBtn.setText(sortState.getButtonLabel());
+            }
+        }, BackgroundExecutor.fx());
+    }
+
+    /**
+     * Wird für jede Zeile aufgerufen, die eine MovieCell anzeigt; nähert sich der
+     * Nutzer dem Ende der Liste, wird die nächste Seite geladen.
+     *
+     * @param index Index der angezeigten Zeile
+     */
+    private void onRowShown(int index) {
+        if (!showingCatalog || pagedLoader == null || index < observableMovies.size() - PREFETCH_ROWS) {
+            return;
+        }
+        PagedMovieLoader loader = pagedLoader;
+        CompletableFuture<List<Movie>> page = loader.loadNext();
+        if (page == null) {
+            return;
         }
+        page.whenCompleteAsync((movies, error) -> {
+            if (loader != pagedLoader) {
+                return;
+            }
+            if (error != null) {
+                showError(
+                        movieListView.getScene().getWindow(),
+                        "API Error",
+                        "Failed to load more movies",
+                        unwrap(error).getMessage()
+                );
+                return;
+            }
+            allMovies.addAll(movies);
+            if (showingCatalog) {
+                observableMovies.addAll(movies);
+                sortState.sort(observableMovies);
+            }
+            if (loader.isExhausted()) {
+                pagedLoader = null;
+                completeCatalog(true);
+            }
+        }, BackgroundExecutor.fx());
+    }
 
-        observableMovies.clear();
-        if (allMovies != null) {
-            observableMovies.addAll(allMovies);
+    /**
+     * Übernimmt ein Delta aus dem Hintergrund-Abgleich (FX-Thread). Geänderte Filme werden
+     * an ihrer Position ersetzt, sodass nur die betroffenen Zeilen neu gezeichnet werden.
+     *
+     * @param diff Neue, geänderte und entfernte Filme
+     */
+    private void onCatalogChanged(CatalogDiff diff) {
+        // Katalog wird noch seitenweise geladen oder ist noch gar nicht da
+        if (allMovies == null || pagedLoader != null) {
+            return;
+        }
+        Map<String, Movie> changed = new HashMap<>();
+        diff.changed().forEach(movie -> changed.put(movie.getId(), movie));
+
+        allMovies.replaceAll(movie -> changed.getOrDefault(movie.getId(), movie));
+        allMovies.removeIf(movie -> diff.removed().contains(movie.getId()));
+        allMovies.addAll(diff.added());
+        queryEngine = new MovieQueryEngine(allMovies);
+
+        for (int i = 0; i < observableMovies.size(); i++) {
+            Movie replacement = changed.get(observableMovies.get(i).getId());
+            if (replacement != null) {
+                observableMovies.set(i, replacement);
+            }
         }
+        observableMovies.removeIf(movie -> diff.removed().contains(movie.getId()));
+        if (showingCatalog && !diff.added().isEmpty()) {
+            observableMovies.addAll(diff.added());
+            sortState.sort(observableMovies);
+        }
+    }
 
-        sortState = new UnsortedState();
-        if (sortBtn != null) {
-            sortBtn.setText(sortState.getButtonLabel());
+    /**
+     * Der Katalog ist vollständig geladen: ab jetzt lokal filtern und, falls er
+     * seitenweise von der API kam, im Hintergrund in der Datenbank cachen.
+     *
+     * @param fromApi true, wenn der Katalog von der API geladen wurde
+     */
+    private void completeCatalog(boolean fromApi) {
+        queryEngine = new MovieQueryEngine(allMovies);
+        if (fromApi) {
+            List<Movie> snapshot = List.copyOf(allMovies);
+            CompletableFuture.runAsync(() -> cacheMovies(snapshot), BackgroundExecutor.get())
+                    .exceptionally(error -> {
+                        System.out.println("Could not cache movies: " + unwrap(error).getMessage());
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * Speichert die von der API geladenen Filme im Datenbank-Cache (läuft im Hintergrund).
+     *
+     * @param movies Die von der API geladenen Filme
+     * @return Dieselbe Liste, damit sie weiterverarbeitet werden kann
+     */
+    private List<Movie> cacheMovies(List<Movie> movies) {
+        try {
+            MovieRepository.getInstance().addMovies(MovieEntity.fromMovies(movies));
+            CatalogSnapshot.save(movies);
+            System.out.println("Movies loaded from API and cached in database.");
+            return movies;
+        } catch (DatabaseException e) {
+            throw new CompletionException(e);
         }
     }
 
@@ -193,6 +326,14 @@ public class HomeController implements Initializable, Observer {
                         "\"" + title + "\" wurde der Watchlist hinzugefügt."
                 );
                 break;
+            case SAVE_FAILED:
+                showError(
+                        parentWindow,
+                        "Watchlist Status Info",
+                        "Watchlist nicht gespeichert",
+                        "Änderungen an \"" + title + "\" konnten nicht gespeichert werden."
+                );
+                break;
             default:
                 break;
         }
@@ -211,17 +352,30 @@ public class HomeController implements Initializable, Observer {
 
     /**
      * Liest alle Filterwerte ein und wendet sie an.
+     * Lokal wird sofort gefiltert; nur Anfragen an die API werden entprellt, sodass
+     * bei schnell aufeinanderfolgenden Aufrufen nur der letzte Filterzustand gesendet wird.
      */
     public void filterMovies() {
         String query = searchField.getText();
         Genre genre = genreComboBox.getValue();
         String releaseYear = releaseYearField.getText();
         String rating = ratingField.getText();
-        applyAllFilters(query, genre, releaseYear, rating);
+        if (canFilterLocally()) {
+            filterDebouncer.cancel();
+            applyAllFilters(query, genre, releaseYear, rating);
+        } else {
+            filterDebouncer.submit(() -> applyAllFilters(query, genre, releaseYear, rating));
+        }
+    }
+
+    private boolean canFilterLocally() {
+        return !remoteFiltering && queryEngine != null && queryEngine.size() > 0;
     }
 
     /**
      * Wendet alle angegebenen Filter auf die Movie-Liste an.
+     * Ist der Katalog bereits geladen, wird lokal gefiltert; sonst (oder wenn
+     * fhmdb.filter.remote gesetzt ist) wird die API abgefragt.
      *
      * @param query       Suchbegriff
      * @param genre       Ausgewähltes Genre (oder null)
@@ -229,26 +383,85 @@ public class HomeController implements Initializable, Observer {
      * @param rating      Rating-Filter (oder leer)
      */
     public void applyAllFilters(String query, Genre genre, String releaseYear, String rating) {
+        long generation = cancelPending();
+        showingCatalog = false;
+        if (canFilterLocally()) {
+            applyLocalFilters(query, genre, releaseYear, rating);
+            return;
+        }
+
+        CompletableFuture<List<Movie>> request = MovieAPI.getMoviesAsync(
+                query,
+                genre != null ? genre.name() : null,
+                releaseYear,
+                rating
+        );
+        pendingRequest = request;
+
+        request.whenCompleteAsync((filteredMovies, error) -> {
+            if (generation != requestGeneration) {
+                return;
+            }
+            if (error != null) {
+                showError(
+                        movieListView.getScene().getWindow(),
+                        "API Error",
+                        "Failed to load movies",
+                        unwrap(error).getMessage()
+                );
+                return;
+            }
+            observableMovies.setAll(filteredMovies);
+
+            sortState.sort(observableMovies);
+        }, BackgroundExecutor.fx());
+    }
+
+    /**
+     * Filtert den bereits geladenen Katalog ohne Netzwerkzugriff.
+     */
+    private void applyLocalFilters(String query, Genre genre, String releaseYear, String rating) {
         try {
-            List<Movie> filteredMovies = MovieAPI.getMovies(
+            observableMovies.setAll(queryEngine.filter(
                     query,
                     genre != null ? genre.name() : null,
                     releaseYear,
                     rating
-            );
-            observableMovies.setAll(filteredMovies);
-
+            ));
             sortState.sort(observableMovies);
-        } catch (MovieApiException e) {
+        } catch (IllegalArgumentException e) {
             showError(
                     movieListView.getScene().getWindow(),
-                    "API Error",
-                    "Failed to load movies",
+                    "Filter Error",
+                    "Invalid filter value",
                     e.getMessage()
             );
         }
     }
 
+    /**
+     * Bricht einen noch laufenden Lade- oder Filter-Request ab, damit dessen
+     * veraltetes Ergebnis nicht mehr in der Liste landet.
+     *
+     * @return Die Generation des neuen Requests; ältere Ergebnisse werden verworfen
+     */
+    private long cancelPending() {
+        if (pendingRequest != null && !pendingRequest.isDone()) {
+            pendingRequest.cancel(true);
+        }
+        return ++requestGeneration;
+    }
+
+    /**
+     * Entfernt die CompletionException-Hülle, um die eigentliche Ursache anzuzeigen.
+     */
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
     /**
      * Sortiert die Movie-Liste und aktualisiert den Button-Text.
      */
@@ -269,6 +482,7 @@ public class HomeController implements Initializable, Observer {
             throw new IllegalArgumentException("Movie list cannot be null");
         }
         this.allMovies = movies;
+        this.queryEngine = new MovieQueryEngine(movies);
         observableMovies.setAll(movies);
     }
 
@@ -277,6 +491,7 @@ public class HomeController implements Initializable, Observer {
      */
     private void switchToWatchlistView() {
         WatchlistRepository.getInstance().removeObserver(this);
+        CatalogSync.getInstance().removeListener(catalogListener);
 
         try {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("watchlist-view.fxml"));
@@ -0,0 +1,161 @@
+package at.ac.fhcampuswien.fhmdb;
+
+import at.ac.fhcampuswien.fhmdb.api.CatalogSync;
+import at.ac.fhcampuswien.fhmdb.concurrent.BackgroundExecutor;
+import at.ac.fhcampuswien.fhmdb.exceptions.DatabaseException;
+import at.ac.fhcampuswien.fhmdb.models.CatalogSnapshot;
+import at.ac.fhcampuswien.fhmdb.models.EntityQuery;
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+import at.ac.fhcampuswien.fhmdb.models.MovieEntity;
+import at.ac.fhcampuswien.fhmdb.models.MovieRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Startet direkt in main() alles, was nicht auf die UI warten muss, parallel im Hintergrund:
+ * Katalog-Snapshot lesen, Hibernate hochfahren, Film-Cache lesen (ohne Snapshot) bzw. einen leeren
+ * Film-Cache aus dem Snapshot befüllen und optional einen Abgleich mit der API. Währenddessen lädt der FX-Thread das FXML und zeigt
+ * das Fenster; der HomeController holt sich den Katalog als CompletableFuture ab.
+ * Jede Phase wird mit ihrer Dauer und dem Zeitpunkt seit dem Start geloggt.
+ *
+ * Konfiguration: -Dfhmdb.startup.refresh=false schaltet den Abgleich beim Start ab
+ */
+public final class StartupPipeline {
+    private static long startedAt;
+    // Vorab gestartetes Laden des Katalogs; wird genau einmal vom HomeController abgeholt
+    private static CompletableFuture<List<Movie>> initialCatalog;
+    private static boolean firstListShown;
+
+    private StartupPipeline() {
+    }
+
+    /**
+     * Startet alle Phasen; weitere Aufrufe haben keine Wirkung.
+     */
+    public static synchronized void begin() {
+        if (startedAt != 0) {
+            return;
+        }
+        startedAt = System.nanoTime();
+        CompletableFuture<Optional<List<Movie>>> snapshot =
+                stage("snapshot", () -> CatalogSnapshot.read(CatalogSnapshot.defaultPath()));
+        CompletableFuture<MovieRepository> database = stage("hibernate", MovieRepository::getInstance);
+
+        initialCatalog = snapshot.thenCompose(stored -> stored.isPresent() && !stored.get().isEmpty()
+                ? CompletableFuture.completedFuture(stored.get())
+                : database.thenCompose(_ -> stage("cache", StartupPipeline::loadCachedMovies)));
+
+        // Snapshot vorhanden, aber Film-Cache leer (DB-Datei gelöscht oder geleert): aus dem Snapshot befüllen,
+        // sonst bleiben Watchlist-Join, Offline-Fallback und Abgleich dauerhaft ohne Daten
+        CompletableFuture<Boolean> databaseReady = snapshot.thenCombine(database, (stored, _) -> stored)
+                .thenCompose(stored -> stored.isPresent() && !stored.get().isEmpty()
+                        ? stage("reseed", () -> reseedFromSnapshot(stored.get()))
+                        : CompletableFuture.completedFuture(false));
+
+        if (Boolean.parseBoolean(System.getProperty("fhmdb.startup.refresh", "true"))) {
+            // Erst wenn der Katalog steht, damit das Delta auf die angezeigte Liste angewendet wird
+            initialCatalog.thenAcceptBoth(databaseReady, (_, _) -> stage("refresh", () -> CatalogSync.getInstance().syncNow()));
+        }
+    }
+
+    /**
+     * Liefert den gespeicherten Katalog (Snapshot, sonst Datenbank-Cache). Beim ersten Aufruf
+     * nach begin() ist das Laden bereits im Gange, danach wird jedes Mal neu gelesen.
+     *
+     * @return Die gespeicherten Filme oder eine leere Liste, wenn noch nichts gespeichert ist
+     */
+    public static synchronized CompletableFuture<List<Movie>> storedCatalog() {
+        CompletableFuture<List<Movie>> result = initialCatalog;
+        if (result != null) {
+            initialCatalog = null;
+            return result;
+        }
+        return CompletableFuture.supplyAsync(StartupPipeline::loadStoredCatalog, BackgroundExecutor.get());
+    }
+
+    /**
+     * Loggt einen Meilenstein auf dem FX-Thread (z. B. FXML geladen) mit dem Zeitpunkt seit dem Start.
+     *
+     * @param name        Name des Meilensteins
+     * @param startNanos  System.nanoTime() zu Beginn des Schritts
+     */
+    public static synchronized void reached(String name, long startNanos) {
+        if (startedAt != 0) {
+            log(name, startNanos, "done");
+        }
+    }
+
+    /**
+     * Meldet, dass die Liste zum ersten Mal befüllt wurde (nur der erste Aufruf wird geloggt).
+     */
+    public static synchronized void firstListShown() {
+        if (startedAt != 0 && !firstListShown) {
+            firstListShown = true;
+            log("first list", startedAt, "done");
+        }
+    }
+
+    private static <T> CompletableFuture<T> stage(String name, Callable<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try {
+                T result = work.call();
+                log(name, start, "done");
+                return result;
+            } catch (Exception e) {
+                log(name, start, "failed: " + e.getMessage());
+                throw new CompletionException(e);
+            }
+        }, BackgroundExecutor.get());
+    }
+
+    private static void log(String name, long start, String outcome) {
+        long now = System.nanoTime();
+        System.out.printf("Startup %-12s %s after %d ms (at %d ms)%n",
+                name, outcome, (now - start) / 1_000_000, (now - startedAt) / 1_000_000);
+    }
+
+    private static List<Movie> loadStoredCatalog() {
+        Optional<List<Movie>> snapshot = CatalogSnapshot.read(CatalogSnapshot.defaultPath());
+        if (snapshot.isPresent() && !snapshot.get().isEmpty()) {
+            return snapshot.get();
+        }
+        try {
+            return loadCachedMovies();
+        } catch (DatabaseException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Befüllt einen leeren Film-Cache mit dem Katalog aus dem Snapshot.
+     *
+     * @return true, wenn der Cache leer war und befüllt wurde
+     */
+    private static boolean reseedFromSnapshot(List<Movie> movies) throws DatabaseException {
+        MovieRepository repository = MovieRepository.getInstance();
+        if (repository.countMovies(EntityQuery.of(MovieEntity.class)) > 0) {
+            return false;
+        }
+        repository.addMovies(MovieEntity.fromMovies(movies));
+        System.out.println("Movie cache was empty, restored it from the snapshot.");
+        return true;
+    }
+
+    /**
+     * Liest den Film-Cache aus der Datenbank und legt daraus einen Snapshot für den nächsten Start an.
+     */
+    private static List<Movie> loadCachedMovies() throws DatabaseException {
+        List<Movie> cachedMovies = new ArrayList<>();
+        if (MovieRepository.getInstance().streamMovies(cachedMovies::add) > 0) {
+            System.out.println("Movies loaded from database.");
+            CatalogSnapshot.save(cachedMovies);
+        }
+        return cachedMovies;
+    }
+}
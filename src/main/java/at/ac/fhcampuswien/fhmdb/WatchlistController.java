@@ -21,7 +21,6 @@ import javafx.stage.Window;
 import java.io.IOException;
 import java.net.URL;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static at.ac.fhcampuswien.fhmdb.ui.AlertUtility.showError;
 import static at.ac.fhcampuswien.fhmdb.ui.AlertUtility.showInfo;
@@ -53,43 +52,7 @@ public class WatchlistController implements Initializable, Observer {
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         try {
-            MovieRepository movieRepo = MovieRepository.getInstance();
-
-            List<WatchlistMovieEntity> watchlistEntities = WatchlistRepository.getInstance().getAllWatchlistMovies();
-            List<Movie> movies = watchlistEntities.stream()
-                    .map(watchlistEntity -> {
-                        try {
-                            List<MovieEntity> movieEntities = movieRepo.getMoviesByApiId(watchlistEntity.getApiId());
-                            if (!movieEntities.isEmpty()) {
-                                MovieEntity movieEntity = movieEntities.get(0);
-                                return new Movie(
-                                        movieEntity.getApiId(),
-                                        movieEntity.getTitle(),
-                                        movieEntity.getDescription(),
-                                        Arrays.stream(movieEntity.getGenres().split(","))
-                                                .map(Genre::valueOf)
-                                                .collect(Collectors.toList()),
-                                        movieEntity.getReleaseYear(),
-                                        movieEntity.getImgUrl(),
-                                        movieEntity.getLengthInMinutes(),
-                                        new ArrayList<>(),
-                                        new ArrayList<>(),
-                                        new ArrayList<>(),
-                                        movieEntity.getRating()
-                                );
-                            }
-                        } catch (DatabaseException e) {
-                            showError(
-                                    movieListView.getScene().getWindow(),
-                                    "Database Error",
-                                    "Failed to load movie details",
-                                    e.getMessage()
-                            );
-                        }
-                        return null;
-                    })
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList());
+            List<Movie> movies = WatchlistRepository.getInstance().getWatchlistMovies();
 
             watchlistMovies.clear();
             watchlistMovies.addAll(movies);
@@ -118,12 +81,10 @@ public class WatchlistController implements Initializable, Observer {
     private final ClickEventHandler<Movie> onRemoveFromWatchlistClicked = clickedMovie -> {
         try {
             WatchlistRepository repo = WatchlistRepository.getInstance();
-            List<WatchlistMovieEntity> watchlistEntities = repo.getWatchlistMoviesByApiId(clickedMovie.getId());
 
-            if (!watchlistEntities.isEmpty()) {
-                for (WatchlistMovieEntity entity : watchlistEntities) {
-                    repo.removeFromWatchlist(entity);
-                }
+            if (repo.isOnWatchlist(clickedMovie.getId())) {
+                // Kehrt sofort zurück; geschrieben wird im Hintergrund
+                repo.removeFromWatchlist(new WatchlistMovieEntity(clickedMovie.getId()));
                 watchlistMovies.removeIf(movie -> movie.getId().equals(clickedMovie.getId()));
             } else {
                 showError(
@@ -169,6 +130,14 @@ public class WatchlistController implements Initializable, Observer {
                         "\"" + title + "\" wurde aus der Watchlist entfernt."
                 );
                 break;
+            case SAVE_FAILED:
+                showError(
+                        parentWindow,
+                        "Watchlist Status Info",
+                        "Watchlist nicht gespeichert",
+                        "Änderungen an \"" + title + "\" konnten nicht gespeichert werden."
+                );
+                break;
             default:
                 break;
         }
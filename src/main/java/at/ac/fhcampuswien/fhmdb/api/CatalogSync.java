@@ -0,0 +1,142 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import at.ac.fhcampuswien.fhmdb.concurrent.BackgroundExecutor;
+import at.ac.fhcampuswien.fhmdb.exceptions.DatabaseException;
+import at.ac.fhcampuswien.fhmdb.exceptions.MovieApiException;
+import at.ac.fhcampuswien.fhmdb.models.CatalogDiff;
+import at.ac.fhcampuswien.fhmdb.models.CatalogSnapshot;
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+import at.ac.fhcampuswien.fhmdb.models.MovieEntity;
+import at.ac.fhcampuswien.fhmdb.models.MovieRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gleicht den Film-Cache in der Datenbank regelmäßig im Hintergrund mit der API ab.
+ * Pro Film wird über den Content-Hash ermittelt, ob er neu, geändert oder entfernt ist;
+ * nur dieses Delta wird in einer Transaktion geschrieben. Listener erhalten das Delta
+ * auf dem FX-Thread und können gezielt einzelne Zeilen aktualisieren.
+ *
+ * Intervall über -Dfhmdb.sync.intervalSeconds (Standard 600, 0 = aus).
+ */
+public final class CatalogSync {
+
+    /**
+     * Wird auf dem FX-Thread aufgerufen, nachdem ein nicht-leeres Delta gespeichert wurde.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void catalogChanged(CatalogDiff diff);
+    }
+
+    private static volatile CatalogSync instance;
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final long intervalSeconds = Long.getLong("fhmdb.sync.intervalSeconds", 600L);
+    private ScheduledExecutorService scheduler;
+
+    private CatalogSync() {
+    }
+
+    public static CatalogSync getInstance() {
+        CatalogSync result = instance;
+        if (result == null) {
+            synchronized (CatalogSync.class) {
+                result = instance;
+                if (result == null) {
+                    result = new CatalogSync();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Startet den periodischen Abgleich; der erste Lauf erfolgt nach einem Intervall,
+     * da beim Start ohnehin frisch geladen wird.
+     */
+    public synchronized void start() {
+        if (scheduler != null || intervalSeconds <= 0) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("fhmdb-catalog-sync")
+                .daemon(true)
+                .factory());
+        scheduler.scheduleWithFixedDelay(this::runQuietly, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Beendet den periodischen Abgleich; ein laufender Abgleich wird unterbrochen.
+     */
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void runQuietly() {
+        try {
+            CatalogDiff diff = syncNow();
+            if (!diff.isEmpty()) {
+                System.out.println("Catalog synchronized: " + diff);
+            }
+        } catch (Exception e) {
+            // Nächster Versuch im nächsten Intervall
+            System.out.println("Catalog sync failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Führt einen Abgleich sofort im aufrufenden Thread aus (blockierend).
+     * Ist der Cache noch leer, passiert nichts: die Erstbefüllung übernimmt der HomeController.
+     *
+     * @return Das gespeicherte Delta (leer, wenn nichts zu tun war)
+     * @throws MovieApiException Wenn der Katalog nicht geladen werden konnte
+     * @throws DatabaseException Wenn das Delta nicht gespeichert werden konnte
+     */
+    public CatalogDiff syncNow() throws MovieApiException, DatabaseException {
+        MovieRepository repository = MovieRepository.getInstance();
+        Map<String, Long> stored = repository.getContentHashes();
+        if (stored.isEmpty()) {
+            return new CatalogDiff(List.of(), List.of(), Set.of());
+        }
+        long fallbacksBefore = MovieAPI.getResilienceStats().fallbacks();
+        List<Movie> remote = MovieAPI.getMovies(null, null, null, null);
+        // Antwort kam aus der Datenbank statt von der API -> nichts abzugleichen
+        if (remote.isEmpty() || MovieAPI.getResilienceStats().fallbacks() != fallbacksBefore) {
+            return new CatalogDiff(List.of(), List.of(), Set.of());
+        }
+
+        CatalogDiff diff = CatalogDiff.between(stored, remote);
+        if (diff.isEmpty()) {
+            return diff;
+        }
+        List<Movie> upserts = new ArrayList<>(diff.added());
+        upserts.addAll(diff.changed());
+        repository.applyDelta(MovieEntity.fromMovies(upserts), diff.removed());
+        CatalogSnapshot.save(remote);
+
+        if (!listeners.isEmpty()) {
+            BackgroundExecutor.fx().execute(() -> listeners.forEach(listener -> listener.catalogChanged(diff)));
+        }
+        return diff;
+    }
+}
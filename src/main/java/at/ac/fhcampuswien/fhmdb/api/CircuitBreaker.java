@@ -0,0 +1,103 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Einfacher Circuit Breaker für die Movie-API.
+ * CLOSED: alle Requests gehen durch. Nach failureThreshold Fehlern in Folge -> OPEN.
+ * OPEN: Requests werden sofort abgewiesen, bis openMillis vergangen sind -> HALF_OPEN.
+ * HALF_OPEN: genau ein Probe-Request darf durch; Erfolg -> CLOSED, Fehler -> wieder OPEN.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Momentaufnahme von Zustand und Zählern.
+     */
+    public record Stats(State state, long successes, long failures, long rejected, long opened) {
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean probeInFlight;
+
+    private final AtomicLong successes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong opened = new AtomicLong();
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true, wenn ein Request ausgeführt werden darf
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+            probeInFlight = false;
+        }
+        if (state == State.CLOSED) {
+            return true;
+        }
+        if (state == State.HALF_OPEN && !probeInFlight) {
+            probeInFlight = true;
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        successes.incrementAndGet();
+        consecutiveFailures = 0;
+        probeInFlight = false;
+        state = State.CLOSED;
+    }
+
+    public synchronized void recordFailure() {
+        failures.incrementAndGet();
+        consecutiveFailures++;
+        probeInFlight = false;
+        // Nur beim Übergang nach OPEN: verspätete Fehler laufender Requests verlängern die Pause nicht
+        if (state != State.OPEN && (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold)) {
+            opened.incrementAndGet();
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    /**
+     * Der Request wurde ohne Ergebnis beendet (z. B. abgebrochen): zählt weder als Erfolg
+     * noch als Fehler, gibt aber im HALF_OPEN-Zustand den Platz für die nächste Probe frei.
+     */
+    public synchronized void releaseProbe() {
+        probeInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(state, successes.get(), failures.get(), rejected.get(), opened.get());
+    }
+}
@@ -0,0 +1,83 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hält einen einzigen, geteilten OkHttpClient für die gesamte Laufzeit der App.
+ * Connection-Pool, Dispatcher und TLS-Sessions werden so zwischen allen Requests
+ * wiederverwendet (Keep-Alive, HTTP/2-Multiplexing).
+ *
+ * Konfiguration über System-Properties, z. B. -Dfhmdb.http.maxIdleConnections=10
+ */
+public final class HttpClientProvider {
+    static final String PREFIX = "fhmdb.http.";
+
+    private static volatile OkHttpClient client;
+
+    private HttpClientProvider() {
+    }
+
+    /**
+     * Liefert den geteilten Client; wird beim ersten Aufruf erzeugt.
+     *
+     * @return Der geteilte OkHttpClient
+     */
+    public static OkHttpClient getClient() {
+        OkHttpClient result = client;
+        if (result == null) {
+            synchronized (HttpClientProvider.class) {
+                result = client;
+                if (result == null) {
+                    result = createClient();
+                    client = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Schließt alle offenen Verbindungen und beendet die Dispatcher-Threads.
+     * Ein späterer Aufruf von getClient() baut einen neuen Client auf.
+     */
+    public static synchronized void shutdown() {
+        OkHttpClient current = client;
+        if (current == null) {
+            return;
+        }
+        client = null;
+        current.dispatcher().cancelAll();
+        current.dispatcher().executorService().shutdown();
+        current.connectionPool().evictAll();
+    }
+
+    private static OkHttpClient createClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(Integer.getInteger(PREFIX + "maxRequests", 64));
+        dispatcher.setMaxRequestsPerHost(Integer.getInteger(PREFIX + "maxRequestsPerHost", 8));
+
+        ConnectionPool pool = new ConnectionPool(
+                Integer.getInteger(PREFIX + "maxIdleConnections", 5),
+                Long.getLong(PREFIX + "keepAliveSeconds", 300L),
+                TimeUnit.SECONDS
+        );
+
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(pool)
+                // HTTP/2 wird per ALPN ausgehandelt, sonst Fallback auf HTTP/1.1
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(Duration.ofMillis(Long.getLong(PREFIX + "connectTimeoutMs", 5_000L)))
+                .readTimeout(Duration.ofMillis(Long.getLong(PREFIX + "readTimeoutMs", 15_000L)))
+                .callTimeout(Duration.ofMillis(Long.getLong(PREFIX + "callTimeoutMs", 30_000L)))
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+}
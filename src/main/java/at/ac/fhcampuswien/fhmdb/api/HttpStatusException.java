@@ -0,0 +1,22 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import java.io.IOException;
+
+/**
+ * Der Server hat mit einem HTTP-Code außerhalb von 200..299 geantwortet.
+ */
+class HttpStatusException extends IOException {
+    private final int code;
+
+    HttpStatusException(int code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    /**
+     * @return true bei Server-Fehlern (5xx), 408 und 429, die ein erneuter Versuch beheben kann
+     */
+    boolean isRetryable() {
+        return code >= 500 || code == 429 || code == 408;
+    }
+}
@@ -0,0 +1,97 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Entpackt einen gzip/deflate-komprimierten Response-Body beim Lesen (streamend)
+ * und zählt dabei die Bytes vor und nach der Dekompression.
+ */
+class MeteredBody {
+    private final CountingInputStream wire;
+    private final CountingInputStream plain;
+    private final Charset charset;
+    private final String encoding;
+
+    MeteredBody(ResponseBody body, String contentEncoding) throws IOException {
+        this.encoding = contentEncoding == null ? "identity" : contentEncoding.trim().toLowerCase(Locale.ROOT);
+        this.wire = new CountingInputStream(body.byteStream());
+        this.plain = new CountingInputStream(decode(wire, encoding));
+
+        MediaType type = body.contentType();
+        Charset declared = type != null ? type.charset() : null;
+        this.charset = declared != null ? declared : StandardCharsets.UTF_8;
+    }
+
+    private static InputStream decode(InputStream in, String encoding) throws IOException {
+        return switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(in, 8192);
+            case "deflate" -> new InflaterInputStream(in);
+            case "identity" -> in;
+            default -> throw new IOException("Unsupported Content-Encoding: " + encoding);
+        };
+    }
+
+    /**
+     * @return Zeichenstrom über den entpackten Inhalt
+     */
+    Reader reader() {
+        return new InputStreamReader(plain, charset);
+    }
+
+    String encoding() {
+        return encoding;
+    }
+
+    long compressedBytes() {
+        return wire.count;
+    }
+
+    long uncompressedBytes() {
+        return plain.count;
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        private CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -1,57 +1,408 @@
 package at.ac.fhcampuswien.fhmdb.api;
 
+import at.ac.fhcampuswien.fhmdb.concurrent.BackgroundExecutor;
+import at.ac.fhcampuswien.fhmdb.concurrent.SingleFlight;
+import at.ac.fhcampuswien.fhmdb.exceptions.DatabaseException;
 import at.ac.fhcampuswien.fhmdb.exceptions.MovieApiException;
 import at.ac.fhcampuswien.fhmdb.models.Movie;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import at.ac.fhcampuswien.fhmdb.models.MovieEntity;
+import at.ac.fhcampuswien.fhmdb.models.MovieQueryEngine;
+import at.ac.fhcampuswien.fhmdb.models.MovieRepository;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.MalformedJsonException;
 import okhttp3.*;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class MovieAPI {
-    private static final String BASE_URL = "https://prog2.fh-campuswien.ac.at/movies";
+    private static final String DEFAULT_BASE_URL = "https://prog2.fh-campuswien.ac.at/movies";
+    // Mit -Dfhmdb.api.baseUrl=... oder setBaseUrl z. B. auf einen lokalen Test-Server umstellbar
+    private static volatile String baseUrl = System.getProperty("fhmdb.api.baseUrl", DEFAULT_BASE_URL);
     private static final String USER_AGENT = "http.agent";
 
+    // Cache für identische Request-URLs (z. B. wiederholte Genre-/Rating-Filter)
+    private static final MovieResponseCache CACHE = new MovieResponseCache(
+            Integer.getInteger(HttpClientProvider.PREFIX + "cache.maxEntries", 32),
+            Long.getLong(HttpClientProvider.PREFIX + "cache.ttlSeconds", 60L) * 1000
+    );
+
+    // Gleiche gleichzeitig laufende Requests (gleiche URL) teilen sich einen einzigen Call
+    private static final SingleFlight<String, List<Movie>> IN_FLIGHT = new SingleFlight<>(ArrayList::new);
+
+    // Wiederholungen, Circuit Breaker und Hedging (0 = aus)
+    private static final RetryPolicy RETRY = new RetryPolicy(
+            Integer.getInteger(HttpClientProvider.PREFIX + "retry.maxAttempts", 3),
+            Long.getLong(HttpClientProvider.PREFIX + "retry.baseDelayMs", 200L),
+            Long.getLong(HttpClientProvider.PREFIX + "retry.maxDelayMs", 2_000L)
+    );
+    private static final CircuitBreaker BREAKER = new CircuitBreaker(
+            Integer.getInteger(HttpClientProvider.PREFIX + "breaker.failureThreshold", 5),
+            Long.getLong(HttpClientProvider.PREFIX + "breaker.openMs", 30_000L)
+    );
+    private static final long HEDGE_AFTER_MS = Long.getLong(HttpClientProvider.PREFIX + "hedgeAfterMs", 0L);
+
+    // Bytes auf der Leitung vs. entpackt, Dekodierzeit
+    private static final TransferStats TRANSFER = new TransferStats();
+
+    private static final AtomicLong RETRIES = new AtomicLong();
+    private static final AtomicLong HEDGES = new AtomicLong();
+    private static final AtomicLong FALLBACKS = new AtomicLong();
+
+    /**
+     * Zähler für Wiederholungen, Hedge-Requests und Antworten aus dem Datenbank-Cache
+     * sowie der aktuelle Zustand des Circuit Breakers.
+     */
+    public record ResilienceStats(CircuitBreaker.Stats breaker, long retries, long hedges, long fallbacks) {
+    }
+
     // Ruft die API mit optionalen Parametern auf und liefert eine Liste von Movies zurück
     public static List<Movie> getMovies(String query, String genre, String releaseYear, String ratingFrom) throws MovieApiException {
-        // 1) URL mit Builder zusammenstellen
-        String finalUrl = new MovieApiRequestBuilder(BASE_URL)
+        List<Movie> movies = new ArrayList<>();
+        streamMovies(query, genre, releaseYear, ratingFrom, movies::add);
+        return movies;
+    }
+
+    // Wie getMovies, reicht aber jeden Film direkt beim Lesen an den Consumer weiter
+    public static int streamMovies(String query, String genre, String releaseYear, String ratingFrom,
+                                   Consumer<Movie> consumer) throws MovieApiException {
+        return fetch(buildUrl(query, genre, releaseYear, ratingFrom), consumer, null);
+    }
+
+    /**
+     * @return Die aktuell verwendete Basis-URL des /movies-Endpoints
+     */
+    public static String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Stellt die Basis-URL um (z. B. auf einen lokalen Stand-in-Server für Lasttests).
+     *
+     * @param url Vollständige URL des /movies-Endpoints
+     */
+    public static void setBaseUrl(String url) {
+        if (HttpUrl.parse(url) == null) {
+            throw new IllegalArgumentException("Invalid base URL: " + url);
+        }
+        baseUrl = url;
+    }
+
+    /**
+     * @return Der Response-Cache (z. B. um Hit/Miss-Zähler auszulesen)
+     */
+    public static MovieResponseCache getCache() {
+        return CACHE;
+    }
+
+    /**
+     * @return Größen- und Zeitmessungen der bisherigen Responses
+     */
+    public static TransferStats getTransferStats() {
+        return TRANSFER;
+    }
+
+    /**
+     * @return Der Circuit Breaker vor der API
+     */
+    public static CircuitBreaker getCircuitBreaker() {
+        return BREAKER;
+    }
+
+    /**
+     * @return Momentaufnahme der Resilienz-Zähler
+     */
+    public static ResilienceStats getResilienceStats() {
+        return new ResilienceStats(BREAKER.getStats(), RETRIES.get(), HEDGES.get(), FALLBACKS.get());
+    }
+
+    /**
+     * Nicht-blockierende Variante von getMovies. Der Request läuft auf einem virtuellen Thread;
+     * ein cancel() auf dem Future bricht auch den laufenden HTTP-Call ab.
+     * Ergebnisse für die UI mit whenCompleteAsync(..., BackgroundExecutor.fx()) abholen.
+     * Gleichzeitige Aufrufe mit denselben Parametern teilen sich einen Request; jeder
+     * Aufrufer bekommt seine eigene Liste und kann unabhängig abbrechen.
+     *
+     * @return Future mit der Liste der Movies oder einer MovieApiException als Ursache
+     */
+    public static CompletableFuture<List<Movie>> getMoviesAsync(String query, String genre, String releaseYear, String ratingFrom) {
+        String url = buildUrl(query, genre, releaseYear, ratingFrom);
+        return IN_FLIGHT.run(url, () -> startHedgedFetch(url));
+    }
+
+    /**
+     * Wie getMoviesAsync, lädt aber nur eine Seite des Ergebnisses.
+     *
+     * @param page  Seitennummer ab 0
+     * @param limit Anzahl der Filme pro Seite
+     * @return Future mit den Filmen dieser Seite
+     */
+    public static CompletableFuture<List<Movie>> getMoviesPageAsync(String query, String genre, String releaseYear,
+                                                                    String ratingFrom, int page, int limit) {
+        String url = new MovieApiRequestBuilder(baseUrl)
                 .query(query)
                 .genre(genre)
                 .releaseYear(releaseYear)
                 .ratingFrom(ratingFrom)
+                .page(page)
+                .limit(limit)
                 .build();
+        return IN_FLIGHT.run(url, () -> startHedgedFetch(url));
+    }
+
+    /**
+     * Startet den Request; ist Hedging aktiv und nach HEDGE_AFTER_MS noch keine Antwort da,
+     * wird ein zweiter, identischer Request gestartet. Die erste erfolgreiche Antwort gewinnt,
+     * der andere Request wird abgebrochen.
+     */
+    private static CompletableFuture<List<Movie>> startHedgedFetch(String url) {
+        CompletableFuture<List<Movie>> primary = startFetch(url);
+        if (HEDGE_AFTER_MS <= 0) {
+            return primary;
+        }
+
+        CompletableFuture<List<Movie>> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<List<Movie>>> backup = new AtomicReference<>();
+        AtomicInteger running = new AtomicInteger(1);
+        BiConsumer<List<Movie>, Throwable> onDone = (movies, error) -> {
+            if (error == null) {
+                result.complete(movies);
+            } else if (running.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        primary.whenComplete(onDone);
 
-        // 2) Request vorbereiten
-        OkHttpClient client = new OkHttpClient();
-        Request request = new Request.Builder()
-                .url(finalUrl)
+        CompletableFuture.delayedExecutor(HEDGE_AFTER_MS, TimeUnit.MILLISECONDS, BackgroundExecutor.get()).execute(() -> {
+            if (!result.isDone() && running.getAndIncrement() > 0) {
+                HEDGES.incrementAndGet();
+                CompletableFuture<List<Movie>> hedge = startFetch(url);
+                backup.set(hedge);
+                hedge.whenComplete(onDone);
+            }
+        });
+
+        result.whenComplete((_, _) -> {
+            primary.cancel(true);
+            CompletableFuture<List<Movie>> hedge = backup.get();
+            if (hedge != null) {
+                hedge.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static CompletableFuture<List<Movie>> startFetch(String url) {
+        AtomicReference<Call> call = new AtomicReference<>();
+        CompletableFuture<List<Movie>> future = new CompletableFuture<>();
+
+        Future<?> task = BackgroundExecutor.get().submit(() -> {
+            try {
+                List<Movie> movies = new ArrayList<>();
+                fetch(url, movies::add, call);
+                future.complete(movies);
+            } catch (MovieApiException e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        future.whenComplete((_, _) -> {
+            if (future.isCancelled()) {
+                Call running = call.get();
+                if (running != null) {
+                    running.cancel();
+                }
+                task.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    // 1) URL mit Builder zusammenstellen
+    private static String buildUrl(String query, String genre, String releaseYear, String ratingFrom) {
+        return new MovieApiRequestBuilder(baseUrl)
+                .query(query)
+                .genre(genre)
+                .releaseYear(releaseYear)
+                .ratingFrom(ratingFrom)
+                .build();
+    }
+
+    // 2) Request vorbereiten
+    private static Request.Builder newRequest(String url) {
+        return new Request.Builder()
+                .url(url)
                 // User-Agent Header setzen (Pflicht laut Aufgabenstellung)
                 .header("User-Agent", USER_AGENT)
-                .build();
+                // Kompression selbst aushandeln, damit MeteredBody die Bytes vor dem Entpacken zählen kann
+                .header("Accept-Encoding", "gzip, deflate");
+    }
+
+    // 3) Aus dem Cache liefern oder den Request mit Retry/Circuit Breaker ausführen
+    private static int fetch(String url, Consumer<Movie> consumer, AtomicReference<Call> callSink) throws MovieApiException {
+        MovieResponseCache.Entry cached = CACHE.get(url);
+        if (cached != null && CACHE.isFresh(cached)) {
+            CACHE.recordHit();
+            cached.movies().forEach(consumer);
+            return cached.movies().size();
+        }
+
+        // Zählt mit, ob schon Filme ausgeliefert wurden; dann darf nicht wiederholt werden
+        AtomicInteger delivered = new AtomicInteger();
+        Consumer<Movie> counting = movie -> {
+            delivered.incrementAndGet();
+            consumer.accept(movie);
+        };
+
+        MovieApiException lastError = null;
+        for (int attempt = 1; attempt <= RETRY.getMaxAttempts(); attempt++) {
+            if (!BREAKER.allowRequest()) {
+                return fallback(url, consumer, lastError);
+            }
+
+            Call call = HttpClientProvider.getClient().newCall(conditionalRequest(url, cached));
+            if (callSink != null) {
+                callSink.set(call);
+            }
+
+            boolean recorded = false;
+            try {
+                int count = execute(url, call, cached, counting);
+                BREAKER.recordSuccess();
+                recorded = true;
+                return count;
+            } catch (IOException | JsonParseException e) {
+                if (call.isCanceled()) {
+                    // Vom Aufrufer abgebrochen -> kein Fehler des Servers
+                    throw new MovieApiException("Request cancelled", e);
+                }
+                lastError = new MovieApiException(e);
+                if (!isRetryable(e)) {
+                    // Server hat geantwortet (4xx, kaputtes JSON) -> kein Ausfall, zählt nicht für den Breaker
+                    throw lastError;
+                }
+                BREAKER.recordFailure();
+                recorded = true;
+                if (delivered.get() > 0 || attempt == RETRY.getMaxAttempts()) {
+                    break;
+                }
+            } finally {
+                // Abgebrochen, Client-Fehler oder unerwarteter Fehler: Probe freigeben, sonst bleibt HALF_OPEN blockiert
+                if (!recorded) {
+                    BREAKER.releaseProbe();
+                }
+            }
+
+            RETRIES.incrementAndGet();
+            try {
+                Thread.sleep(RETRY.delayMillis(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new MovieApiException("Interrupted while waiting for retry", e);
+            }
+        }
+
+        if (BREAKER.getState() == CircuitBreaker.State.OPEN && delivered.get() == 0) {
+            return fallback(url, consumer, lastError);
+        }
+        throw lastError;
+    }
+
+    private static Request conditionalRequest(String url, MovieResponseCache.Entry cached) {
+        Request.Builder request = newRequest(url);
+        if (cached != null) {
+            // Abgelaufenen Eintrag beim Server bedingt revalidieren
+            if (cached.etag() != null) {
+                request.header("If-None-Match", cached.etag());
+            }
+            if (cached.lastModified() != null) {
+                request.header("If-Modified-Since", cached.lastModified());
+            }
+        }
+        return request.build();
+    }
+
+    // 4) Request ausführen und die Antwort Film für Film dekodieren
+    private static int execute(String url, Call call, MovieResponseCache.Entry cached, Consumer<Movie> consumer) throws IOException {
+        try (Response response = call.execute()) {
+            if (response.code() == 304 && cached != null) {
+                CACHE.recordHit();
+                MovieResponseCache.Entry renewed = CACHE.refresh(url, cached);
+                renewed.movies().forEach(consumer);
+                return renewed.movies().size();
+            }
+            CACHE.recordMiss();
 
-        // 3) Request ausführen
-        try (Response response = client.newCall(request).execute()) {
             if (!response.isSuccessful()) {
                 // Fehlermeldung, wenn HTTP-Code nicht 200..299
-                throw new IOException("Unexpected code " + response);
+                throw new HttpStatusException(response.code(), "Unexpected code " + response);
             }
 
-            // 4) JSON-Antwort in String umwandeln
-            assert response.body() != null;
-            String jsonBody = response.body().string();
+            ResponseBody body = response.body();
+            if (body == null) {
+                return 0;
+            }
+
+            // JSON-Array direkt vom (entpackten) Netzwerk-Stream Film für Film dekodieren
+            long start = System.nanoTime();
+            MeteredBody metered = new MeteredBody(body, response.header("Content-Encoding"));
+            List<Movie> movies = new ArrayList<>();
+            int count = MovieStreamDecoder.decode(metered.reader(), movie -> {
+                movies.add(movie);
+                consumer.accept(movie);
+            });
+            TRANSFER.record(new TransferStats.Sample(
+                    url,
+                    metered.encoding(),
+                    metered.compressedBytes(),
+                    metered.uncompressedBytes(),
+                    System.nanoTime() - start
+            ));
+            CACHE.put(url, movies, response.header("ETag"), response.header("Last-Modified"));
+            return count;
+        }
+    }
+
+    private static boolean isRetryable(Exception e) {
+        if (e instanceof HttpStatusException status) {
+            return status.isRetryable();
+        }
+        // Netzwerkfehler ja, kaputtes JSON nein (MalformedJsonException ist ebenfalls eine IOException)
+        return e instanceof IOException && !(e instanceof MalformedJsonException);
+    }
 
-            // 5) JSON-String per Gson in eine Liste von Movies parsen
-            List<Movie> movies = new Gson().fromJson(jsonBody, new TypeToken<List<Movie>>() {
-            }.getType());
-            if (movies == null) {
-                return new ArrayList<>();
+    /**
+     * Beantwortet die Anfrage aus dem MovieRepository-Cache, solange der Circuit Breaker offen ist.
+     * Die Filterparameter werden aus der URL gelesen und lokal angewendet.
+     */
+    private static int fallback(String url, Consumer<Movie> consumer, MovieApiException cause) throws MovieApiException {
+        try {
+            List<MovieEntity> entities = MovieRepository.getInstance().getAllMovies();
+            if (entities.isEmpty()) {
+                throw new MovieApiException("Movie API unavailable and no cached movies", cause);
             }
-            return movies;
-        } catch (IOException e) {
-            throw new MovieApiException(e);
+            FALLBACKS.incrementAndGet();
+
+            HttpUrl httpUrl = HttpUrl.get(url);
+            List<Movie> movies = new MovieQueryEngine(MovieEntity.toMovies(entities)).filter(
+                    httpUrl.queryParameter("query"),
+                    httpUrl.queryParameter("genre"),
+                    httpUrl.queryParameter("releaseYear"),
+                    httpUrl.queryParameter("ratingFrom")
+            );
+            movies.forEach(consumer);
+            return movies.size();
+        } catch (DatabaseException | IllegalArgumentException e) {
+            throw new MovieApiException("Movie API unavailable and cache lookup failed", e);
         }
     }
 }
@@ -41,6 +41,21 @@ public class MovieApiRequestBuilder {
         return this;
     }
 
+    // Paging: Seitennummer (ab 0) und Seitengröße
+    public MovieApiRequestBuilder page(Integer page) {
+        if (page != null && page >= 0) {
+            urlBuilder.addQueryParameter("page", String.valueOf(page));
+        }
+        return this;
+    }
+
+    public MovieApiRequestBuilder limit(Integer limit) {
+        if (limit != null && limit > 0) {
+            urlBuilder.addQueryParameter("limit", String.valueOf(limit));
+        }
+        return this;
+    }
+
     // builder
     public String build() {
         return urlBuilder.build().toString();
@@ -0,0 +1,116 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * LRU-Cache für bereits dekodierte /movies-Antworten, Schlüssel ist die fertige Request-URL.
+ * Einträge sind für eine TTL frisch; danach werden sie per ETag / Last-Modified
+ * beim Server revalidiert, statt sofort verworfen zu werden.
+ */
+public class MovieResponseCache {
+
+    /**
+     * Ein gecachter Response mit seinen Validatoren.
+     */
+    public record Entry(List<Movie> movies, String etag, String lastModified, long storedAt) {
+    }
+
+    /**
+     * Momentaufnahme der Zähler.
+     */
+    public record Stats(long hits, long misses, long revalidations, long evictions, int size) {
+        public double hitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LongSupplier clock;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public MovieResponseCache(int maxEntries, long ttlMillis) {
+        this(maxEntries, ttlMillis, System::currentTimeMillis);
+    }
+
+    MovieResponseCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        // accessOrder = true -> Iterationsreihenfolge ist "zuletzt benutzt zuletzt"
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > MovieResponseCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return Der Eintrag zur URL (frisch oder abgelaufen) oder null
+     */
+    public synchronized Entry get(String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * @return true, wenn der Eintrag noch innerhalb seiner TTL liegt
+     */
+    public boolean isFresh(Entry entry) {
+        return clock.getAsLong() - entry.storedAt() < ttlMillis;
+    }
+
+    /**
+     * Legt einen neu geladenen Response ab.
+     */
+    public synchronized void put(String url, List<Movie> movies, String etag, String lastModified) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        entries.put(url, new Entry(List.copyOf(movies), etag, lastModified, clock.getAsLong()));
+    }
+
+    /**
+     * Markiert einen abgelaufenen Eintrag nach einem 304 wieder als frisch.
+     *
+     * @return Der erneuerte Eintrag
+     */
+    public synchronized Entry refresh(String url, Entry entry) {
+        revalidations.incrementAndGet();
+        Entry renewed = new Entry(entry.movies(), entry.etag(), entry.lastModified(), clock.getAsLong());
+        entries.put(url, renewed);
+        return renewed;
+    }
+
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits.get(), misses.get(), revalidations.get(), evictions.get(), entries.size());
+    }
+}
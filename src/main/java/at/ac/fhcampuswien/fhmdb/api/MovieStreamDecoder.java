@@ -0,0 +1,56 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * Liest ein JSON-Array von Movies elementweise mit Gsons JsonReader.
+ * Es wird nie der komplette Body als String gehalten; jeder Film wird
+ * sofort an den Consumer weitergegeben, sobald er vollständig gelesen ist.
+ */
+public final class MovieStreamDecoder {
+    private static final Gson GSON = new Gson();
+
+    private MovieStreamDecoder() {
+    }
+
+    /**
+     * Dekodiert das Array aus dem Reader und ruft für jeden Film den Consumer auf.
+     *
+     * @param source   Zeichenstrom mit dem JSON-Array (wird nicht geschlossen)
+     * @param consumer Empfänger für jeden gelesenen Film
+     * @return Anzahl der gelesenen Filme
+     * @throws IOException Wenn der Stream nicht gelesen werden kann oder kein gültiges JSON enthält
+     */
+    public static int decode(Reader source, Consumer<Movie> consumer) throws IOException {
+        try {
+            JsonReader reader = new JsonReader(source);
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                return 0;
+            }
+
+            int count = 0;
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Movie movie = GSON.fromJson(reader, Movie.class);
+                if (movie != null) {
+                    consumer.accept(movie);
+                    count++;
+                }
+            }
+            reader.endArray();
+            return count;
+        } catch (IllegalStateException e) {
+            // Falscher Token-Typ (z. B. Objekt statt Array) -> wie jedes andere ungültige JSON behandeln
+            throw new MalformedJsonException(e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Lädt einen Katalog Seite für Seite über MovieAPI.getMoviesPageAsync.
+ * Es läuft immer höchstens ein Seiten-Request; der Loader ist erschöpft, sobald
+ * eine Seite kleiner als die Seitengröße ist oder keine neuen Filme mehr liefert
+ * (z. B. wenn der Server die Paging-Parameter ignoriert).
+ */
+public class PagedMovieLoader {
+    private final String query;
+    private final String genre;
+    private final String releaseYear;
+    private final String ratingFrom;
+    private final int pageSize;
+
+    private final Set<String> seenIds = new HashSet<>();
+    private int nextPage;
+    private boolean exhausted;
+    private CompletableFuture<List<Movie>> loading;
+
+    public PagedMovieLoader(String query, String genre, String releaseYear, String ratingFrom, int pageSize) {
+        this.query = query;
+        this.genre = genre;
+        this.releaseYear = releaseYear;
+        this.ratingFrom = ratingFrom;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Startet das Laden der nächsten Seite.
+     *
+     * @return Future mit den neuen Filmen der Seite, oder null, wenn gerade geladen wird
+     *         oder keine weiteren Seiten existieren
+     */
+    public synchronized CompletableFuture<List<Movie>> loadNext() {
+        if (exhausted || (loading != null && !loading.isDone())) {
+            return null;
+        }
+        int page = nextPage;
+        loading = MovieAPI.getMoviesPageAsync(query, genre, releaseYear, ratingFrom, page, pageSize)
+                .thenApply(movies -> accept(page, movies));
+        return loading;
+    }
+
+    private synchronized List<Movie> accept(int page, List<Movie> movies) {
+        List<Movie> fresh = movies.stream()
+                .filter(movie -> movie.getId() == null || seenIds.add(movie.getId()))
+                .toList();
+        nextPage = page + 1;
+        // Mehr als pageSize Filme: der Server ignoriert Paging und hat alles geliefert
+        if (movies.size() != pageSize || fresh.isEmpty()) {
+            exhausted = true;
+        }
+        return fresh;
+    }
+
+    /**
+     * @return true, sobald mindestens eine Seite erfolgreich geladen wurde
+     */
+    public synchronized boolean loadedAnyPage() {
+        return nextPage > 0;
+    }
+
+    /**
+     * @return true, wenn alle Seiten geladen wurden
+     */
+    public synchronized boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Bricht einen laufenden Seiten-Request ab.
+     */
+    public synchronized void cancel() {
+        if (loading != null) {
+            loading.cancel(true);
+        }
+    }
+}
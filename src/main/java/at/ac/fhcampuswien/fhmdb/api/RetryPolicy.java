@@ -0,0 +1,35 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Begrenzte Wiederholungen mit exponentiellem Backoff und "Full Jitter":
+ * die Wartezeit vor Versuch n ist zufällig zwischen 0 und min(maxDelay, baseDelay * 2^(n-1)).
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * @return Maximale Anzahl an Versuchen inklusive des ersten
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param attempt Nummer des fehlgeschlagenen Versuchs (ab 1)
+     * @return Wartezeit in Millisekunden vor dem nächsten Versuch
+     */
+    public long delayMillis(int attempt) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
@@ -0,0 +1,50 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sammelt Größe und Dekodierzeit der /movies-Responses.
+ */
+public class TransferStats {
+
+    /**
+     * Messwerte eines einzelnen Responses.
+     */
+    public record Sample(String url, String encoding, long compressedBytes, long uncompressedBytes, long decodeNanos) {
+        public double compressionRatio() {
+            return compressedBytes == 0 ? 1.0 : (double) uncompressedBytes / compressedBytes;
+        }
+    }
+
+    /**
+     * Summen über alle bisherigen Responses.
+     */
+    public record Totals(long responses, long compressedBytes, long uncompressedBytes, long decodeNanos) {
+    }
+
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong decodeNanos = new AtomicLong();
+    private final AtomicReference<Sample> last = new AtomicReference<>();
+
+    public void record(Sample sample) {
+        responses.incrementAndGet();
+        compressedBytes.addAndGet(sample.compressedBytes());
+        uncompressedBytes.addAndGet(sample.uncompressedBytes());
+        decodeNanos.addAndGet(sample.decodeNanos());
+        last.set(sample);
+    }
+
+    /**
+     * @return Messwerte des zuletzt gelesenen Responses oder null
+     */
+    public Sample getLast() {
+        return last.get();
+    }
+
+    public Totals getTotals() {
+        return new Totals(responses.get(), compressedBytes.get(), uncompressedBytes.get(), decodeNanos.get());
+    }
+}
@@ -0,0 +1,48 @@
+package at.ac.fhcampuswien.fhmdb.concurrent;
+
+import javafx.application.Platform;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Gemeinsame Executor für Hintergrundarbeit (virtuelle Threads) und für die
+ * Rückgabe von Ergebnissen an den JavaFX-Application-Thread.
+ */
+public final class BackgroundExecutor {
+    private static final ExecutorService VIRTUAL = Executors.newVirtualThreadPerTaskExecutor();
+    private static final Executor FX = BackgroundExecutor::runOnFxThread;
+
+    private BackgroundExecutor() {
+    }
+
+    /**
+     * @return Executor, der jede Aufgabe auf einem eigenen virtuellen Thread ausführt
+     */
+    public static ExecutorService get() {
+        return VIRTUAL;
+    }
+
+    /**
+     * @return Executor, der Aufgaben über Platform.runLater auf dem FX-Thread ausführt
+     */
+    public static Executor fx() {
+        return FX;
+    }
+
+    /**
+     * Nimmt keine neuen Aufgaben mehr an; laufende Aufgaben dürfen fertig werden.
+     */
+    public static void shutdown() {
+        VIRTUAL.shutdown();
+    }
+
+    private static void runOnFxThread(Runnable task) {
+        if (Platform.isFxApplicationThread()) {
+            task.run();
+        } else {
+            Platform.runLater(task);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package at.ac.fhcampuswien.fhmdb.concurrent;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Führt eine Aktion erst aus, wenn für eine gewisse Zeit keine neue Aktion eingereicht wurde.
+ * Bei schnellen Folgeaufrufen gewinnt immer die zuletzt eingereichte Aktion.
+ */
+public class Debouncer {
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fhmdb-debouncer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long delayMillis;
+    private final Executor target;
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param delayMillis Wartezeit nach dem letzten Aufruf
+     * @param target      Executor, auf dem die Aktion ausgeführt wird (z. B. BackgroundExecutor.fx())
+     */
+    public Debouncer(long delayMillis, Executor target) {
+        this.delayMillis = delayMillis;
+        this.target = target;
+    }
+
+    /**
+     * Plant die Aktion ein und verwirft eine noch nicht ausgeführte vorherige.
+     *
+     * @param action Die auszuführende Aktion
+     */
+    public synchronized void submit(Runnable action) {
+        cancel();
+        if (delayMillis <= 0) {
+            target.execute(action);
+            return;
+        }
+        pending = SCHEDULER.schedule(() -> target.execute(action), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Verwirft eine noch nicht ausgeführte Aktion.
+     */
+    public synchronized void cancel() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+}
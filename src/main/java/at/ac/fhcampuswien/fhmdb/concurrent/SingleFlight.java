@@ -0,0 +1,117 @@
+package at.ac.fhcampuswien.fhmdb.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Fasst gleichzeitige Aufrufe mit demselben Schlüssel zu einem einzigen laufenden Vorgang zusammen.
+ * Jeder Aufrufer bekommt ein eigenes Future; bricht er es ab, betrifft das nur ihn.
+ * Erst wenn alle Aufrufer abgebrochen haben, wird auch der gemeinsame Vorgang abgebrochen.
+ *
+ * @param <K> Typ des Schlüssels (z. B. die Request-URL)
+ * @param <V> Typ des Ergebnisses
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final Function<V, V> copier;
+
+    /**
+     * @param copier Erzeugt für jeden Aufrufer eine eigene Kopie des Ergebnisses
+     */
+    public SingleFlight(Function<V, V> copier) {
+        this.copier = copier;
+    }
+
+    /**
+     * Hängt sich an einen laufenden Vorgang mit diesem Schlüssel an oder startet einen neuen.
+     *
+     * @param key    Schlüssel, der gleiche Anfragen identifiziert
+     * @param loader Startet den eigentlichen Vorgang, falls keiner läuft
+     * @return Future nur für diesen Aufrufer
+     */
+    public CompletableFuture<V> run(K key, Supplier<CompletableFuture<V>> loader) {
+        while (true) {
+            Flight<V> created = new Flight<>(new CompletableFuture<>());
+            Flight<V> flight = flights.putIfAbsent(key, created);
+            if (flight == null) {
+                flight = created;
+                start(key, created, loader);
+            }
+            CompletableFuture<V> view = flight.subscribe(copier);
+            if (view != null) {
+                return view;
+            }
+            // Vorgang wurde gerade von allen anderen abgebrochen -> neuen starten
+            flights.remove(key, flight);
+        }
+    }
+
+    private void start(K key, Flight<V> flight, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> source = flight.source;
+        source.whenComplete((_, _) -> flights.remove(key, flight));
+
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException e) {
+            source.completeExceptionally(e);
+            return;
+        }
+        loading.whenComplete((value, error) -> {
+            if (error != null) {
+                source.completeExceptionally(error);
+            } else {
+                source.complete(value);
+            }
+        });
+        // Abbruch des gemeinsamen Vorgangs an den eigentlichen Loader weitergeben
+        source.whenComplete((_, _) -> {
+            if (source.isCancelled()) {
+                loading.cancel(true);
+            }
+        });
+    }
+
+    /**
+     * @return Anzahl der gerade laufenden, gemeinsamen Vorgänge
+     */
+    public int inFlight() {
+        return flights.size();
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> source;
+        private int subscribers;
+        private boolean abandoned;
+
+        private Flight(CompletableFuture<V> source) {
+            this.source = source;
+        }
+
+        private synchronized CompletableFuture<V> subscribe(Function<V, V> copier) {
+            if (abandoned) {
+                return null;
+            }
+            subscribers++;
+            CompletableFuture<V> view = source.thenApply(copier);
+            view.whenComplete((_, _) -> {
+                if (view.isCancelled()) {
+                    unsubscribe();
+                }
+            });
+            return view;
+        }
+
+        private synchronized void unsubscribe() {
+            subscribers--;
+            if (subscribers == 0 && !source.isDone()) {
+                abandoned = true;
+                source.cancel(true);
+            }
+        }
+    }
+}
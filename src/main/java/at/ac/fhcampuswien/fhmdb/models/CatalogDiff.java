@@ -0,0 +1,52 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-movie difference between the cached catalog and a freshly fetched one.
+ * Movies are matched by apiId and compared by MovieEntity.contentHash.
+ *
+ * @param added   Movies that are not cached yet
+ * @param changed New state of cached movies whose content differs
+ * @param removed apiIds of cached movies that are no longer in the catalog
+ */
+public record CatalogDiff(List<Movie> added, List<Movie> changed, Set<String> removed) {
+
+    /**
+     * @param stored apiId -> content hash of every cached movie
+     * @param remote The full catalog as delivered by the API
+     * @return What has to be inserted, replaced and deleted
+     */
+    public static CatalogDiff between(Map<String, Long> stored, List<Movie> remote) {
+        List<Movie> added = new ArrayList<>();
+        List<Movie> changed = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (Movie movie : remote) {
+            if (movie.getId() == null || !seen.add(movie.getId())) {
+                continue;
+            }
+            Long hash = stored.get(movie.getId());
+            if (hash == null) {
+                added.add(movie);
+            } else if (hash != MovieEntity.contentHash(movie)) {
+                changed.add(movie);
+            }
+        }
+        Set<String> removed = new HashSet<>(stored.keySet());
+        removed.removeAll(seen);
+        return new CatalogDiff(added, changed, removed);
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && changed.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "+" + added.size() + " ~" + changed.size() + " -" + removed.size();
+    }
+}
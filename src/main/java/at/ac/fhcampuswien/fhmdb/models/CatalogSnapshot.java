@@ -0,0 +1,217 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary copy of the catalog that can be read without Hibernate.
+ * Written after every successful load or sync, read through a memory-mapped file on
+ * startup so the list can be shown before the ORM has booted.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int magic "FHMS", int version, int stringCount, int movieCount
+ * stringCount x (int byteLength, UTF-8 bytes)          -- dictionary, every distinct string once
+ * movieCount x (int id, int title, int description, long genreMask, int releaseYear,
+ *               int imgUrl, int lengthInMinutes, double rating,
+ *               3 x (int count, count x int name))      -- directors, writers, cast
+ * int crc32 of everything before it
+ * </pre>
+ * String fields are indexes into the dictionary, -1 stands for null.
+ */
+public final class CatalogSnapshot {
+    private static final int MAGIC = 0x46484D53;
+    static final int VERSION = 1;
+
+    private CatalogSnapshot() {
+    }
+
+    /**
+     * @return Snapshot location, configurable with -Dfhmdb.snapshot.path
+     */
+    public static Path defaultPath() {
+        return Path.of(System.getProperty("fhmdb.snapshot.path", "fhmdb-catalog.snap"));
+    }
+
+    /**
+     * Replaces the snapshot at {@link #defaultPath()}. If that fails the old snapshot is
+     * removed, so a stale catalog is never shown on the next start.
+     */
+    public static void save(List<Movie> movies) {
+        Path path = defaultPath();
+        try {
+            write(path, movies);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Could not write catalog snapshot: " + e.getMessage());
+            delete(path);
+        }
+    }
+
+    /**
+     * Writes the catalog to a temporary file and atomically replaces the snapshot with it.
+     */
+    public static void write(Path path, List<Movie> movies) throws IOException {
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<byte[]> strings = new ArrayList<>();
+        int[][] refs = new int[movies.size()][];
+        int movieBytes = 0;
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            List<String> directors = orEmpty(movie.getDirectors());
+            List<String> writers = orEmpty(movie.getWriters());
+            List<String> cast = orEmpty(movie.getMainCast());
+            int[] movieRefs = new int[4 + directors.size() + writers.size() + cast.size()];
+            int r = 0;
+            movieRefs[r++] = intern(movie.getId(), dictionary, strings);
+            movieRefs[r++] = intern(movie.getTitle(), dictionary, strings);
+            movieRefs[r++] = intern(movie.getDescription(), dictionary, strings);
+            movieRefs[r++] = intern(movie.getImgUrl(), dictionary, strings);
+            for (List<String> names : List.of(directors, writers, cast)) {
+                for (String name : names) {
+                    movieRefs[r++] = intern(name, dictionary, strings);
+                }
+            }
+            refs[i] = movieRefs;
+            movieBytes += 4 * 4 + 8 + 4 * 2 + 8 + 3 * 4 + 4 * (movieRefs.length - 4);
+        }
+        int stringBytes = strings.stream().mapToInt(bytes -> 4 + bytes.length).sum();
+
+        ByteBuffer buffer = ByteBuffer.allocate(16 + stringBytes + movieBytes + 4);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(strings.size()).putInt(movies.size());
+        for (byte[] bytes : strings) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            int[] movieRefs = refs[i];
+            buffer.putInt(movieRefs[0]).putInt(movieRefs[1]).putInt(movieRefs[2])
+                    .putLong(MovieEntity.genresToMask(movie.getGenres()))
+                    .putInt(movie.getReleaseYear())
+                    .putInt(movieRefs[3])
+                    .putInt(movie.getLengthInMinutes())
+                    .putDouble(movie.getRating());
+            int r = 4;
+            for (List<String> names : List.of(orEmpty(movie.getDirectors()), orEmpty(movie.getWriters()), orEmpty(movie.getMainCast()))) {
+                buffer.putInt(names.size());
+                for (int n = 0; n < names.size(); n++) {
+                    buffer.putInt(movieRefs[r++]);
+                }
+            }
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temp, buffer.array());
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the snapshot through a memory-mapped file. The mapping belongs to a confined arena
+     * and is released before returning; otherwise Windows refuses to replace or delete the file.
+     * @return The catalog, or empty if there is no snapshot or it is damaged or from another version
+     */
+    public static Optional<List<Movie>> read(Path path) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Arena arena = Arena.ofConfined()) {
+            MemorySegment mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            return Optional.of(decode(mapping.asByteBuffer()));
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ignoring catalog snapshot: " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Removes the snapshot, e.g. when it could not be refreshed and would be stale.
+     */
+    public static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.out.println("Could not delete catalog snapshot: " + e.getMessage());
+        }
+    }
+
+    private static List<Movie> decode(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 20 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("unknown format or version");
+        }
+        int end = buffer.limit() - 4;
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end));
+        if ((int) crc.getValue() != buffer.getInt(end)) {
+            throw new IOException("checksum mismatch");
+        }
+        buffer.position(8);
+        String[] strings = new String[buffer.getInt()];
+        int movieCount = buffer.getInt();
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        List<Movie> movies = new ArrayList<>(movieCount);
+        for (int i = 0; i < movieCount; i++) {
+            String id = lookup(strings, buffer.getInt());
+            String title = lookup(strings, buffer.getInt());
+            String description = lookup(strings, buffer.getInt());
+            long genreMask = buffer.getLong();
+            int releaseYear = buffer.getInt();
+            String imgUrl = lookup(strings, buffer.getInt());
+            int lengthInMinutes = buffer.getInt();
+            double rating = buffer.getDouble();
+            List<String> directors = names(buffer, strings);
+            List<String> writers = names(buffer, strings);
+            List<String> cast = names(buffer, strings);
+            movies.add(new Movie(id, title, description, new ArrayList<>(MovieEntity.genresFromMask(genreMask)),
+                    releaseYear, imgUrl, lengthInMinutes, directors, writers, cast, rating));
+        }
+        return movies;
+    }
+
+    private static List<String> names(ByteBuffer buffer, String[] strings) {
+        int count = buffer.getInt();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(lookup(strings, buffer.getInt()));
+        }
+        return names;
+    }
+
+    private static String lookup(String[] strings, int ref) {
+        return ref < 0 ? null : strings[ref];
+    }
+
+    private static int intern(String value, Map<String, Integer> dictionary, List<byte[]> strings) {
+        if (value == null) {
+            return -1;
+        }
+        return dictionary.computeIfAbsent(value, key -> {
+            strings.add(key.getBytes(StandardCharsets.UTF_8));
+            return strings.size() - 1;
+        });
+    }
+
+    private static List<String> orEmpty(List<String> names) {
+        return names == null ? List.of() : names;
+    }
+}
@@ -1,28 +1,222 @@
 package at.ac.fhcampuswien.fhmdb.models;
 
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.metamodel.EntityType;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
 import org.hibernate.Transaction;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.query.Query;
+import org.hibernate.stat.Statistics;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public class Database {
+    static final int ID_ALLOCATION_SIZE = 50;
+
     private static Database instance;
     private final SessionFactory sessionFactory;
+    private final int batchSize;
+    private final int fetchSize;
+    private static final int SLOW_QUERY_HISTORY = 100;
+    private final long slowQueryNanos = Long.getLong("fhmdb.db.slowQueryMs", 200L) * 1_000_000L;
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowQueries = new ConcurrentLinkedDeque<>();
 
     private Database() {
         try {
             Configuration configuration = new Configuration();
             configuration.configure("hibernate.cfg.xml");
+            applyProfile(configuration, System.getProperty("fhmdb.db.profile", "default"));
+            batchSize = Integer.getInteger("fhmdb.db.batchSize",
+                    Integer.parseInt(configuration.getProperties().getProperty("hibernate.jdbc.batch_size", "50")));
+            configuration.setProperty("hibernate.jdbc.batch_size", String.valueOf(batchSize));
+            fetchSize = Integer.getInteger("fhmdb.db.fetchSize",
+                    Integer.parseInt(configuration.getProperties().getProperty("hibernate.jdbc.fetch_size", "100")));
+            // Hibernate additionally logs slow JDBC statements (SQL level) under org.hibernate.SQL_SLOW
+            configuration.setProperty("hibernate.log_slow_query", String.valueOf(slowQueryNanos / 1_000_000L));
+            String url = System.getProperty("fhmdb.db.url");
+            if (url != null) {
+                configuration.setProperty("hibernate.connection.url", url);
+            }
+            // Must be checked before hbm2ddl creates the table
+            boolean creditsTableExisted = tableExists(configuration, "movie_credits");
             sessionFactory = configuration.buildSessionFactory();
+            migrate(creditsTableExisted);
         } catch (Exception e) {
             throw new RuntimeException("Failed to initialize Hibernate", e);
         }
     }
 
+    /**
+     * Overlays db-profile-&lt;name&gt;.properties from the classpath (if present) and then
+     * every "hibernate.*" system property on top of hibernate.cfg.xml.
+     * Chosen at startup with -Dfhmdb.db.profile=performance|debug.
+     */
+    private static void applyProfile(Configuration configuration, String profile) throws IOException {
+        try (InputStream in = Database.class.getClassLoader().getResourceAsStream("db-profile-" + profile + ".properties")) {
+            if (in != null) {
+                Properties overrides = new Properties();
+                overrides.load(in);
+                overrides.forEach((key, value) -> configuration.setProperty((String) key, (String) value));
+            } else if (!"default".equals(profile)) {
+                throw new IOException("Unknown database profile: " + profile);
+            }
+        }
+        System.getProperties().forEach((key, value) -> {
+            if (key instanceof String name && name.startsWith("hibernate.")) {
+                configuration.setProperty(name, (String) value);
+            }
+        });
+    }
+
+    /**
+     * Looks a table up with a plain JDBC connection, i.e. before hbm2ddl has run.
+     */
+    private static boolean tableExists(Configuration configuration, String table) throws SQLException {
+        Properties properties = configuration.getProperties();
+        try (Connection connection = DriverManager.getConnection(
+                properties.getProperty("hibernate.connection.url"),
+                properties.getProperty("hibernate.connection.username"),
+                properties.getProperty("hibernate.connection.password", ""));
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE UPPER(TABLE_NAME) = ?")) {
+            statement.setString(1, table.toUpperCase(Locale.ROOT));
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getLong(1) > 0;
+            }
+        }
+    }
+
+    /**
+     * Schema fixes that hbm2ddl "update" cannot do on its own for existing database files.
+     *
+     * @param creditsTableExisted Whether movie_credits was there before hbm2ddl ran
+     */
+    private void migrate(boolean creditsTableExisted) {
+        try (Session session = getSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                alignSequence(session, "movies", "movies_seq");
+                migrateGenres(session);
+                if (!creditsTableExisted) {
+                    dropCacheWithoutCredits(session);
+                }
+                ensureUniqueIndex(session, "movies", "apiId", "ux_movies_api_id");
+                ensureUniqueIndex(session, "watchlist", "apiId", "ux_watchlist_api_id");
+                transaction.commit();
+            } catch (Exception e) {
+                transaction.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Moves an id sequence past the highest existing id.
+     * Needed for tables created while ids were still IDENTITY-generated.
+     */
+    private static void alignSequence(Session session, String table, String sequence) {
+        long maxId = session.createNativeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class)
+                .getSingleResult();
+        if (maxId > 0) {
+            session.createNativeMutationQuery("ALTER SEQUENCE " + sequence + " RESTART WITH "
+                    + (maxId + ID_ALLOCATION_SIZE + 1)).executeUpdate();
+        }
+    }
+
+    /**
+     * Converts the old comma-separated "genres" column into "genreMask" and drops it.
+     * Runs one UPDATE per distinct genre combination, not per row.
+     */
+    private static void migrateGenres(Session session) {
+        Long hasColumn = session.createNativeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS"
+                + " WHERE UPPER(TABLE_NAME) = 'MOVIES' AND UPPER(COLUMN_NAME) = 'GENRES'", Long.class)
+                .getSingleResult();
+        if (hasColumn == 0) {
+            return;
+        }
+        List<String> combinations = session.createNativeQuery(
+                "SELECT DISTINCT genres FROM movies WHERE genres IS NOT NULL", String.class).list();
+        for (String combination : combinations) {
+            EnumSet<Genre> genres = EnumSet.noneOf(Genre.class);
+            for (String name : combination.split(",")) {
+                if (!name.isBlank()) {
+                    genres.add(Genre.valueOf(name.trim()));
+                }
+            }
+            session.createNativeMutationQuery("UPDATE movies SET genreMask = ?1 WHERE genres = ?2")
+                    .setParameter(1, MovieEntity.genresToMask(genres))
+                    .setParameter(2, combination)
+                    .executeUpdate();
+        }
+        session.createNativeMutationQuery("ALTER TABLE movies DROP COLUMN genres").executeUpdate();
+    }
+
+    /**
+     * Movies cached before credits were stored have no directors, writers or cast.
+     * Emptying the movie cache once makes the next start reload it, credits included, from the API.
+     * Only runs on the boot that creates movie_credits, so it never touches an up-to-date file.
+     */
+    private static void dropCacheWithoutCredits(Session session) {
+        boolean hasMovies = session.createNativeQuery("SELECT COUNT(*) FROM movies", Long.class).getSingleResult() > 0;
+        boolean hasCredits = session.createNativeQuery("SELECT COUNT(*) FROM movie_credits", Long.class).getSingleResult() > 0;
+        if (hasMovies && !hasCredits) {
+            session.createNativeMutationQuery("DELETE FROM movies").executeUpdate();
+        }
+    }
+
+    /**
+     * Removes duplicate rows (keeping the oldest) and adds the unique index.
+     * hbm2ddl cannot create the index while older files still contain duplicates.
+     */
+    private static void ensureUniqueIndex(Session session, String table, String column, String index) {
+        session.createNativeMutationQuery("DELETE FROM " + table + " t WHERE EXISTS (SELECT 1 FROM " + table
+                + " d WHERE d." + column + " = t." + column + " AND d.id < t.id)").executeUpdate();
+        session.createNativeMutationQuery("CREATE UNIQUE INDEX IF NOT EXISTS " + index
+                + " ON " + table + "(" + column + ")").executeUpdate();
+    }
+
+    /**
+     * @return Number of statements per JDBC batch (and entities per flush in saveAll)
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return Rows per JDBC round trip for streaming reads
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
     public static synchronized Database getInstance() {
         if (instance == null) {
             instance = new Database();
@@ -42,6 +236,7 @@ public class Database {
 
     // Generic CRUD operations
     public <T> void save(T entity) {
+        long start = System.nanoTime();
         try (Session session = getSession()) {
             Transaction transaction = session.beginTransaction();
             try {
@@ -51,10 +246,72 @@ public class Database {
                 transaction.rollback();
                 throw e;
             }
+        } finally {
+            record("save", entity.getClass().getSimpleName(), null, start);
+        }
+    }
+
+    /**
+     * Persists all entities in one session and one transaction.
+     * The session is flushed and cleared every batchSize entities, so inserts go out as
+     * JDBC batches and the persistence context does not grow with the list.
+     */
+    public <T> void saveAll(List<T> entities, int batchSize) {
+        long start = System.nanoTime();
+        try {
+            transact(session -> {
+                persistBatched(session, entities, batchSize);
+                return null;
+            });
+        } finally {
+            record("saveAll", entities.size() + " entities", null, start);
+        }
+    }
+
+    /**
+     * Persists entities inside an open session, flushing and clearing every batchSize entities.
+     */
+    public static <T> void persistBatched(Session session, List<T> entities, int batchSize) {
+        int size = Math.max(1, batchSize);
+        session.setJdbcBatchSize(size);
+        for (int i = 0; i < entities.size(); i++) {
+            session.persist(entities.get(i));
+            if ((i + 1) % size == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+    }
+
+    /**
+     * Runs work in one session and one transaction; rolls back if it throws.
+     * For multi-step changes (bulk deletes plus inserts) that must be applied together.
+     */
+    public <R> R inTransaction(Function<Session, R> work) {
+        long start = System.nanoTime();
+        try {
+            return transact(work);
+        } finally {
+            record("inTransaction", "custom transaction", null, start);
+        }
+    }
+
+    private <R> R transact(Function<Session, R> work) {
+        try (Session session = getSession()) {
+            Transaction transaction = session.beginTransaction();
+            try {
+                R result = work.apply(session);
+                transaction.commit();
+                return result;
+            } catch (Exception e) {
+                transaction.rollback();
+                throw e;
+            }
         }
     }
 
     public <T> void update(T entity) {
+        long start = System.nanoTime();
         try (Session session = getSession()) {
             Transaction transaction = session.beginTransaction();
             try {
@@ -64,10 +321,13 @@ public class Database {
                 transaction.rollback();
                 throw e;
             }
+        } finally {
+            record("update", entity.getClass().getSimpleName(), null, start);
         }
     }
 
     public <T> void delete(T entity) {
+        long start = System.nanoTime();
         try (Session session = getSession()) {
             Transaction transaction = session.beginTransaction();
             try {
@@ -77,30 +337,377 @@ public class Database {
                 transaction.rollback();
                 throw e;
             }
+        } finally {
+            record("delete", entity.getClass().getSimpleName(), null, start);
         }
     }
 
     public <T> Optional<T> findById(Class<T> entityClass, Long id) {
+        long start = System.nanoTime();
         try (Session session = getSession()) {
             return Optional.ofNullable(session.get(entityClass, id));
+        } finally {
+            record("findById", entityClass.getSimpleName(), id, start);
         }
     }
 
     public <T> List<T> findAll(Class<T> entityClass) {
+        long start = System.nanoTime();
+        String hql = "FROM " + entityClass.getSimpleName();
         try (Session session = getSession()) {
-            Query<T> query = session.createQuery("FROM " + entityClass.getSimpleName(), entityClass);
+            Query<T> query = session.createQuery(hql, entityClass);
+            query.setCacheable(isCacheable(entityClass));
             return query.list();
+        } finally {
+            record("findAll", hql, null, start);
         }
     }
 
-    public <T> List<T> findByField(Class<T> entityClass, String fieldName, Object value) {
+    /**
+     * Streams every entity of a class to the consumer without building a list.
+     * @return Number of entities passed to the consumer
+     */
+    public <T> int stream(Class<T> entityClass, Consumer<? super T> consumer) {
+        return stream("FROM " + entityClass.getSimpleName(), entityClass, consumer);
+    }
+
+    /**
+     * Streams the results of an HQL select through a StatelessSession: no persistence context,
+     * no dirty-checking snapshots, no second-level cache. Rows are read with a forward-only
+     * cursor, fetchSize rows per round trip, so only the current row is held in memory.
+     * Lazy associations cannot be loaded on the streamed entities.
+     * @return Number of results passed to the consumer
+     */
+    public <T> int stream(String hql, Class<T> resultClass, Consumer<? super T> consumer) {
+        long start = System.nanoTime();
+        try (StatelessSession session = openStatelessSession();
+             ScrollableResults<T> results = scroll(session, hql, resultClass)) {
+            int count = 0;
+            while (results.next()) {
+                consumer.accept(results.get());
+                count++;
+            }
+            return count;
+        } finally {
+            record("stream", hql, null, start);
+        }
+    }
+
+    /**
+     * For read paths that need several cursors at once (e.g. merging two ordered queries).
+     */
+    public StatelessSession openStatelessSession() {
+        return sessionFactory.openStatelessSession();
+    }
+
+    /**
+     * Opens a forward-only cursor on an HQL select; the caller closes it.
+     */
+    public <T> ScrollableResults<T> scroll(StatelessSession session, String hql, Class<T> resultClass) {
+        return session.createQuery(hql, resultClass)
+                .setFetchSize(fetchSize)
+                .scroll(ScrollMode.FORWARD_ONLY);
+    }
+
+    /**
+     * Looks up at most one entity by a field; meant for unique, indexed columns.
+     */
+    public <T> Optional<T> findOneByField(Class<T> entityClass, String fieldName, Object value) {
+        return find(EntityQuery.of(entityClass).whereEquals(fieldName, value).limit(1)).stream().findFirst();
+    }
+
+    /**
+     * Runs a typed query. The HQL only depends on the query's shape (fields, operators,
+     * ordering), never on values, so Hibernate's query plan cache is reused across calls;
+     * results of @Cacheable entities also go through the query cache.
+     */
+    public <T> List<T> find(EntityQuery<T> query) {
+        long start = System.nanoTime();
+        Hql hql = toHql(query, false);
+        try (Session session = getSession()) {
+            Query<T> select = session.createQuery(hql.text(), query.getEntityClass());
+            hql.params().forEach(select::setParameter);
+            if (query.getAfter() == null && query.getOffset() > 0) {
+                select.setFirstResult(query.getOffset());
+            }
+            if (query.getLimit() > 0) {
+                select.setMaxResults(query.getLimit());
+            }
+            select.setCacheable(isCacheable(query.getEntityClass()));
+            return select.list();
+        } finally {
+            record("find", hql.text(), hql.params().isEmpty() ? null : hql.params(), start);
+        }
+    }
+
+    /**
+     * Counts the rows matching the query's predicates (ordering and paging are ignored).
+     */
+    public <T> long count(EntityQuery<T> query) {
+        long start = System.nanoTime();
+        Hql hql = toHql(query, true);
+        try (Session session = getSession()) {
+            Query<Long> count = session.createQuery(hql.text(), Long.class);
+            hql.params().forEach(count::setParameter);
+            count.setCacheable(isCacheable(query.getEntityClass()));
+            return count.getSingleResult();
+        } finally {
+            record("count", hql.text(), hql.params().isEmpty() ? null : hql.params(), start);
+        }
+    }
+
+    /**
+     * Runs the query as one page. Offset pages also carry the total row count;
+     * keyset pages (EntityQuery.after) skip the count query. The page's nextKey is set
+     * when the page is full and can be passed to after(...) for the next one.
+     */
+    public <T> Page<T> findPage(EntityQuery<T> query) {
+        List<T> items = find(query);
+        boolean keyset = query.getAfter() != null;
+        long total = keyset ? -1 : count(query);
+        List<Object> nextKey = null;
+        if (query.getLimit() > 0 && items.size() == query.getLimit()) {
+            nextKey = sortKey(query, items.get(items.size() - 1));
+        }
+        return new Page<>(items, total, keyset ? 0 : query.getOffset(), nextKey);
+    }
+
+    private record Hql(String text, Map<String, Object> params) {
+    }
+
+    private Hql toHql(EntityQuery<?> query, boolean count) {
+        Class<?> entityClass = query.getEntityClass();
+        StringBuilder hql = new StringBuilder(count ? "SELECT COUNT(e) FROM " : "FROM ")
+                .append(entityClass.getSimpleName()).append(" e");
+        Map<String, Object> params = new LinkedHashMap<>();
+        List<String> conditions = new ArrayList<>();
+
+        for (EntityQuery.Predicate predicate : query.getPredicates()) {
+            String field = "e." + checkedField(entityClass, predicate.field());
+            String param = "p" + params.size();
+            Object value = predicate.value();
+            if (value == null && predicate.operator() == EntityQuery.Operator.EQ) {
+                conditions.add(field + " IS NULL");
+            } else if (value == null && predicate.operator() == EntityQuery.Operator.NE) {
+                conditions.add(field + " IS NOT NULL");
+            } else if (predicate.operator() == EntityQuery.Operator.LIKE) {
+                conditions.add("LOWER(" + field + ") LIKE :" + param + " ESCAPE '\\'");
+                params.put(param, "%" + String.valueOf(value).toLowerCase(Locale.ROOT)
+                        .replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%");
+            } else {
+                conditions.add(field + " " + predicate.operator().hql + " :" + param);
+                params.put(param, value);
+            }
+        }
+
+        List<EntityQuery.Order> orders = count ? List.of() : sortOrder(query);
+        if (!count && query.getAfter() != null) {
+            conditions.add(keysetCondition(orders, query.getAfter(), params));
+        }
+        if (!conditions.isEmpty()) {
+            hql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        if (!orders.isEmpty()) {
+            hql.append(" ORDER BY ");
+            for (int i = 0; i < orders.size(); i++) {
+                hql.append(i == 0 ? "" : ", ").append("e.").append(orders.get(i).field())
+                        .append(orders.get(i).ascending() ? " ASC" : " DESC");
+            }
+        }
+        return new Hql(hql.toString(), params);
+    }
+
+    // Requested order plus the id as tie-breaker; empty if neither ordering nor keyset paging was asked for
+    private List<EntityQuery.Order> sortOrder(EntityQuery<?> query) {
+        if (query.getOrders().isEmpty() && query.getAfter() == null) {
+            return List.of();
+        }
+        String id = idField(query.getEntityClass());
+        List<EntityQuery.Order> orders = new ArrayList<>();
+        for (EntityQuery.Order order : query.getOrders()) {
+            orders.add(new EntityQuery.Order(checkedField(query.getEntityClass(), order.field()), order.ascending()));
+        }
+        if (orders.stream().noneMatch(order -> order.field().equals(id))) {
+            orders.add(new EntityQuery.Order(id, true));
+        }
+        return orders;
+    }
+
+    // (a > :k0) OR (a = :k0 AND b > :k1) OR ...; sort fields must not be null
+    private static String keysetCondition(List<EntityQuery.Order> orders, List<Object> key, Map<String, Object> params) {
+        if (key.size() != orders.size()) {
+            throw new IllegalArgumentException("Keyset needs " + orders.size() + " values, got " + key.size());
+        }
+        List<String> alternatives = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            StringBuilder alternative = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                alternative.append("e.").append(orders.get(j).field()).append(" = :k").append(j).append(" AND ");
+            }
+            alternative.append("e.").append(orders.get(i).field())
+                    .append(orders.get(i).ascending() ? " > :k" : " < :k").append(i).append(")");
+            alternatives.add(alternative.toString());
+            params.put("k" + i, key.get(i));
+        }
+        return "(" + String.join(" OR ", alternatives) + ")";
+    }
+
+    private <T> List<Object> sortKey(EntityQuery<T> query, T row) {
+        List<Object> key = new ArrayList<>();
+        for (EntityQuery.Order order : sortOrder(query)) {
+            Member member = sessionFactory.getMetamodel().entity(query.getEntityClass())
+                    .getAttribute(order.field()).getJavaMember();
+            try {
+                Field field = (Field) member;
+                field.setAccessible(true);
+                key.add(field.get(row));
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new IllegalStateException("Cannot read sort field " + order.field(), e);
+            }
+        }
+        return key;
+    }
+
+    // Only mapped attributes may appear in HQL; values never do
+    private String checkedField(Class<?> entityClass, String field) {
+        try {
+            return sessionFactory.getMetamodel().entity(entityClass).getAttribute(field).getName();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown field " + entityClass.getSimpleName() + "." + field, e);
+        }
+    }
+
+    private String idField(Class<?> entityClass) {
+        EntityType<?> type = sessionFactory.getMetamodel().entity(entityClass);
+        return type.getId(type.getIdType().getJavaType()).getName();
+    }
+
+    /**
+     * Runs a parameterless HQL select, e.g. a join that no single-entity method covers.
+     */
+    public <T> List<T> query(String hql, Class<T> resultClass) {
+        long start = System.nanoTime();
         try (Session session = getSession()) {
-            Query<T> query = session.createQuery(
-                "FROM " + entityClass.getSimpleName() + " WHERE " + fieldName + " = :value",
-                entityClass
-            );
-            query.setParameter("value", value);
+            return session.createQuery(hql, resultClass).list();
+        } finally {
+            record("query", hql, null, start);
+        }
+    }
+
+    /**
+     * Runs an HQL select with named parameters. Results go through the query cache
+     * when the result class is a @Cacheable entity.
+     */
+    public <T> List<T> query(String hql, Class<T> resultClass, Map<String, ?> params) {
+        long start = System.nanoTime();
+        try (Session session = getSession()) {
+            Query<T> query = session.createQuery(hql, resultClass);
+            params.forEach(query::setParameter);
+            query.setCacheable(isCacheable(resultClass));
             return query.list();
+        } finally {
+            record("query", hql, params.isEmpty() ? null : params, start);
+        }
+    }
+
+    /**
+     * Records one call in the operation's histogram and logs it if it was slower than
+     * -Dfhmdb.db.slowQueryMs. Bind parameters are only turned into text for slow calls.
+     */
+    private void record(String operation, String statement, Object params, long startNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        latencies.computeIfAbsent(operation, _ -> new LatencyHistogram()).record(nanos);
+        if (nanos < slowQueryNanos) {
+            return;
+        }
+        SlowQuery slow = new SlowQuery(Instant.now(), operation, statement, abbreviate(String.valueOf(params)), nanos / 1_000);
+        slowQueries.addLast(slow);
+        while (slowQueries.size() > SLOW_QUERY_HISTORY) {
+            slowQueries.pollFirst();
+        }
+        System.out.println("Slow database call: " + slow);
+    }
+
+    private static String abbreviate(String text) {
+        return text.length() <= 200 ? text : text.substring(0, 200) + "...";
+    }
+
+    /**
+     * One call that took longer than the slow-query threshold.
+     */
+    public record SlowQuery(Instant at, String operation, String statement, String params, long micros) {
+        @Override
+        public String toString() {
+            return operation + " took " + micros / 1_000 + " ms: " + statement
+                    + ("null".equals(params) ? "" : " params=" + params);
         }
     }
+
+    /**
+     * @return Latency summary per Database operation (save, findAll, query, ...)
+     */
+    public Map<String, LatencyHistogram.Snapshot> getLatencies() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        latencies.forEach((operation, histogram) -> snapshots.put(operation, histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * @return The most recent slow calls, oldest first
+     */
+    public List<SlowQuery> getSlowQueries() {
+        return List.copyOf(slowQueries);
+    }
+
+    /**
+     * @return Hibernate's statistics (query, entity, cache and connection counters)
+     */
+    public Statistics getStatistics() {
+        return sessionFactory.getStatistics();
+    }
+
+    /**
+     * Drops an entity's second-level cache entries, all cached collections and all cached query results.
+     * Call after the underlying table was changed outside of Hibernate or fully refreshed.
+     */
+    public void evictCache(Class<?> entityClass) {
+        sessionFactory.getCache().evictEntityData(entityClass);
+        sessionFactory.getCache().evictCollectionData();
+        sessionFactory.getCache().evictQueryRegions();
+    }
+
+    /**
+     * @return Hit/miss counters of the second-level and query cache
+     */
+    public CacheStats getCacheStats() {
+        Statistics statistics = sessionFactory.getStatistics();
+        return new CacheStats(
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                statistics.getSecondLevelCachePutCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()
+        );
+    }
+
+    /**
+     * Snapshot of Hibernate's cache counters.
+     */
+    public record CacheStats(long entityHits, long entityMisses, long entityPuts,
+                             long queryHits, long queryMisses, long queryPuts) {
+        public double queryHitRate() {
+            long total = queryHits + queryMisses;
+            return total == 0 ? 0.0 : (double) queryHits / total;
+        }
+    }
+
+    // Queries on @Cacheable entities also go through the query cache
+    private static boolean isCacheable(Class<?> entityClass) {
+        return entityClass.isAnnotationPresent(Cacheable.class);
+    }
+
+    public <T> List<T> findByField(Class<T> entityClass, String fieldName, Object value) {
+        return find(EntityQuery.of(entityClass).whereEquals(fieldName, value));
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,133 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Typed description of a select on one entity: predicates, ordering and paging.
+ * Database turns it into parameterized HQL; values are always bound as parameters and
+ * field names are checked against the entity metamodel, so equal query shapes share one
+ * cached query plan.
+ *
+ * Paging is either by offset (offset/limit) or by keyset (after(...)): a keyset page
+ * starts behind the sort key of the previous page's last row and stays fast on deep pages.
+ */
+public class EntityQuery<T> {
+
+    public enum Operator {
+        EQ("="),
+        NE("<>"),
+        LT("<"),
+        LE("<="),
+        GT(">"),
+        GE(">="),
+        // Case-insensitive "contains"
+        LIKE("LIKE"),
+        IN("IN");
+
+        final String hql;
+
+        Operator(String hql) {
+            this.hql = hql;
+        }
+    }
+
+    record Predicate(String field, Operator operator, Object value) {
+    }
+
+    record Order(String field, boolean ascending) {
+    }
+
+    private final Class<T> entityClass;
+    private final List<Predicate> predicates = new ArrayList<>();
+    private final List<Order> orders = new ArrayList<>();
+    private int offset;
+    private int limit;
+    private List<Object> after;
+
+    private EntityQuery(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public static <T> EntityQuery<T> of(Class<T> entityClass) {
+        return new EntityQuery<>(Objects.requireNonNull(entityClass));
+    }
+
+    /**
+     * Adds a predicate; all predicates are combined with AND.
+     */
+    public EntityQuery<T> where(String field, Operator operator, Object value) {
+        if (operator == Operator.IN && !(value instanceof Collection<?>)) {
+            throw new IllegalArgumentException("IN needs a collection value");
+        }
+        predicates.add(new Predicate(Objects.requireNonNull(field), Objects.requireNonNull(operator), value));
+        return this;
+    }
+
+    public EntityQuery<T> whereEquals(String field, Object value) {
+        return where(field, Operator.EQ, value);
+    }
+
+    /**
+     * Adds a sort field; earlier calls take precedence. The entity id is always appended
+     * as final tie-breaker so that pages are stable.
+     */
+    public EntityQuery<T> orderBy(String field, boolean ascending) {
+        orders.add(new Order(Objects.requireNonNull(field), ascending));
+        return this;
+    }
+
+    public EntityQuery<T> offset(int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must not be negative");
+        }
+        this.offset = offset;
+        return this;
+    }
+
+    /**
+     * @param limit Maximum rows per page, 0 = no limit
+     */
+    public EntityQuery<T> limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must not be negative");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    /**
+     * Keyset paging: only rows sorted after the given key, typically Page.nextKey() of the
+     * previous page (one value per sort field, id last). Replaces the offset.
+     */
+    public EntityQuery<T> after(List<?> key) {
+        this.after = key == null ? null : List.copyOf(key);
+        return this;
+    }
+
+    public Class<T> getEntityClass() {
+        return entityClass;
+    }
+
+    List<Predicate> getPredicates() {
+        return predicates;
+    }
+
+    List<Order> getOrders() {
+        return orders;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    List<Object> getAfter() {
+        return after;
+    }
+}
@@ -0,0 +1,94 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * Link between a movie and a person in the "movie_credits" table.
+ * The role says whether the person directed, wrote or acted; position keeps the API's order.
+ */
+@Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movie_credits")
+@Table(name = "movie_credits", indexes = {
+        @Index(name = "ix_movie_credits_movie", columnList = "movie_id"),
+        @Index(name = "ix_movie_credits_person", columnList = "person_id")
+})
+public class MovieCreditEntity {
+    public enum Role {
+        DIRECTOR,
+        WRITER,
+        CAST
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movie_credits_seq")
+    @SequenceGenerator(name = "movie_credits_seq", sequenceName = "movie_credits_seq", allocationSize = Database.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "movie_id", nullable = false)
+    private MovieEntity movie;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "person_id", nullable = false)
+    private PersonEntity person;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Role role;
+
+    @Column
+    private int position;
+
+    // Default constructor required by Hibernate
+    public MovieCreditEntity() {
+    }
+
+    public MovieCreditEntity(MovieEntity movie, PersonEntity person, Role role, int position) {
+        this.movie = movie;
+        this.person = person;
+        this.role = role;
+        this.position = position;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public MovieEntity getMovie() {
+        return movie;
+    }
+
+    public void setMovie(MovieEntity movie) {
+        this.movie = movie;
+    }
+
+    public PersonEntity getPerson() {
+        return person;
+    }
+
+    public void setPerson(PersonEntity person) {
+        this.person = person;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+}
@@ -1,9 +1,20 @@
 package at.ac.fhcampuswien.fhmdb.models;
 
 import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.stream.Collectors;
 
 /**
@@ -13,10 +24,16 @@ import java.util.stream.Collectors;
  * and provides methods to convert between Movie and MovieEntity objects.
  */
 @Entity
-@Table(name = "movies")
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies")
+@Table(name = "movies", indexes = @Index(name = "ux_movies_api_id", columnList = "apiId", unique = true))
 public class MovieEntity {
+    private static final Genre[] GENRES = Genre.values();
+
+    // Sequence instead of IDENTITY so Hibernate can group inserts into JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_seq")
+    @SequenceGenerator(name = "movies_seq", sequenceName = "movies_seq", allocationSize = Database.ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -28,8 +45,9 @@ public class MovieEntity {
     @Column(length = 1000)
     private String description;
 
-    @Column
-    private String genres;
+    // Bit i is set when the movie has Genre.values()[i]; see genresToMask
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long genreMask;
 
     @Column
     private int releaseYear;
@@ -43,16 +61,27 @@ public class MovieEntity {
     @Column
     private double rating;
 
+    // Fingerprint of all API fields, used by the catalog sync to detect changed movies
+    @Column(columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long contentHash;
+
+    // Directors, writers and cast; loaded with a fetch join by the catalog queries
+    @OneToMany(mappedBy = "movie", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("role, position")
+    @BatchSize(size = Database.ID_ALLOCATION_SIZE)
+    @org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "movies.credits")
+    private List<MovieCreditEntity> credits = new ArrayList<>();
+
     // Default constructor required by Hibernate
     public MovieEntity() {
     }
 
-    public MovieEntity(String apiId, String title, String description, String genres, 
+    public MovieEntity(String apiId, String title, String description, long genreMask,
                       int releaseYear, String imgUrl, int lengthInMinutes, double rating) {
         this.apiId = apiId;
         this.title = title;
         this.description = description;
-        this.genres = genres;
+        this.genreMask = genreMask;
         this.releaseYear = releaseYear;
         this.imgUrl = imgUrl;
         this.lengthInMinutes = lengthInMinutes;
@@ -60,30 +89,94 @@ public class MovieEntity {
     }
 
     /**
-     * Converts a list of genres to a comma-separated string.
-     * @param genres List of genres to convert
-     * @return Comma-separated string of genre names
+     * Converts genres to a bitmask with one bit per Genre ordinal.
+     * Only append new constants to Genre, reordering would change stored masks.
+     * @param genres Genres to convert (may be null)
+     * @return Bitmask of the given genres
      */
-    public static String genresToString(List<Genre> genres) {
-        return genres.stream().map(Enum::name).collect(Collectors.joining(","));
+    public static long genresToMask(Collection<Genre> genres) {
+        long mask = 0L;
+        if (genres != null) {
+            for (Genre genre : genres) {
+                if (genre != null) {
+                    mask |= genreBit(genre);
+                }
+            }
+        }
+        return mask;
     }
 
     /**
-     * Converts a list of Movie objects to MovieEntity objects.
+     * Converts a bitmask back to the set of genres it contains.
+     * @param mask Bitmask as produced by genresToMask
+     * @return Genres in declaration order
+     */
+    public static EnumSet<Genre> genresFromMask(long mask) {
+        EnumSet<Genre> genres = EnumSet.noneOf(Genre.class);
+        for (Genre genre : GENRES) {
+            if ((mask & genreBit(genre)) != 0) {
+                genres.add(genre);
+            }
+        }
+        return genres;
+    }
+
+    /**
+     * @return The single mask bit of a genre
+     */
+    public static long genreBit(Genre genre) {
+        return 1L << genre.ordinal();
+    }
+
+    /**
+     * Hashes every field that is stored for a movie (SHA-256, first 8 bytes).
+     * Genres are hashed as mask, so their order in the API response does not matter.
+     * @param movie The movie to hash
+     * @return A stable 64-bit fingerprint
+     */
+    public static long contentHash(Movie movie) {
+        StringBuilder content = new StringBuilder()
+                .append(movie.getId()).append('\u0000')
+                .append(movie.getTitle()).append('\u0000')
+                .append(movie.getDescription()).append('\u0000')
+                .append(genresToMask(movie.getGenres())).append('\u0000')
+                .append(movie.getReleaseYear()).append('\u0000')
+                .append(movie.getImgUrl()).append('\u0000')
+                .append(movie.getLengthInMinutes()).append('\u0000')
+                .append(movie.getRating()).append('\u0000')
+                .append(movie.getDirectors()).append('\u0000')
+                .append(movie.getWriters()).append('\u0000')
+                .append(movie.getMainCast());
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Converts a list of Movie objects to MovieEntity objects, including their credits.
+     * Every distinct name becomes one (still transient) PersonEntity shared by all its credits.
      * @param movies List of Movie objects to convert
      * @return List of converted MovieEntity objects
      */
     public static List<MovieEntity> fromMovies(List<Movie> movies) {
+        Map<String, PersonEntity> persons = new HashMap<>();
         return movies.stream().map(movie -> {
             MovieEntity entity = new MovieEntity();
+            entity.addCredits(MovieCreditEntity.Role.DIRECTOR, movie.getDirectors(), persons);
+            entity.addCredits(MovieCreditEntity.Role.WRITER, movie.getWriters(), persons);
+            entity.addCredits(MovieCreditEntity.Role.CAST, movie.getMainCast(), persons);
             entity.apiId = movie.getId();
             entity.title = movie.getTitle();
             entity.description = movie.getDescription();
-            entity.genres = genresToString(movie.getGenres());
+            entity.genreMask = genresToMask(movie.getGenres());
             entity.releaseYear = movie.getReleaseYear();
             entity.imgUrl = movie.getImgUrl();
             entity.lengthInMinutes = movie.getLengthInMinutes();
             entity.rating = movie.getRating();
+            entity.contentHash = contentHash(movie);
             return entity;
         }).collect(Collectors.toList());
     }
@@ -94,26 +187,63 @@ public class MovieEntity {
      * @return List of converted Movie objects
      */
     public static List<Movie> toMovies(List<MovieEntity> movieEntities) {
-        return movieEntities.stream().map(entity -> {
-            List<Genre> genreList = Arrays.stream(entity.genres.split(","))
-                    .map(String::trim)
-                    .map(Genre::valueOf)
-                    .collect(Collectors.toList());
-
-            return new Movie(
-                    entity.apiId,
-                    entity.title,
-                    entity.description,
-                    genreList,
-                    entity.releaseYear,
-                    entity.imgUrl,
-                    entity.lengthInMinutes,
-                    new ArrayList<>(),
-                    new ArrayList<>(),
-                    new ArrayList<>(),
-                    entity.rating
-            );
-        }).collect(Collectors.toList());
+        return movieEntities.stream()
+                .map(entity -> entity.toMovie(
+                        entity.getNames(MovieCreditEntity.Role.DIRECTOR),
+                        entity.getNames(MovieCreditEntity.Role.WRITER),
+                        entity.getNames(MovieCreditEntity.Role.CAST)))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Converts this entity to a Movie with credits that were loaded separately.
+     */
+    public Movie toMovie(List<String> directors, List<String> writers, List<String> mainCast) {
+        return new Movie(
+                apiId,
+                title,
+                description,
+                new ArrayList<>(genresFromMask(genreMask)),
+                releaseYear,
+                imgUrl,
+                lengthInMinutes,
+                directors,
+                writers,
+                mainCast,
+                rating
+        );
+    }
+
+    private void addCredits(MovieCreditEntity.Role role, List<String> names, Map<String, PersonEntity> persons) {
+        if (names == null) {
+            return;
+        }
+        int position = 0;
+        for (String name : names) {
+            if (name != null && !name.isBlank()) {
+                PersonEntity person = persons.computeIfAbsent(name.trim(), PersonEntity::new);
+                credits.add(new MovieCreditEntity(this, person, role, position++));
+            }
+        }
+    }
+
+    /**
+     * Names of all persons with the given role, in API order.
+     * Returns an empty list when the credits were not fetched with the movie.
+     * @param role Director, writer or cast
+     * @return The names
+     */
+    public List<String> getNames(MovieCreditEntity.Role role) {
+        List<String> names = new ArrayList<>();
+        if (!Hibernate.isInitialized(credits)) {
+            return names;
+        }
+        for (MovieCreditEntity credit : credits) {
+            if (credit.getRole() == role) {
+                names.add(credit.getPerson().getName());
+            }
+        }
+        return names;
     }
 
     // Getters and Setters
@@ -149,12 +279,20 @@ public class MovieEntity {
         this.description = description;
     }
 
-    public String getGenres() {
-        return genres;
+    public long getGenreMask() {
+        return genreMask;
+    }
+
+    public void setGenreMask(long genreMask) {
+        this.genreMask = genreMask;
     }
 
-    public void setGenres(String genres) {
-        this.genres = genres;
+    public EnumSet<Genre> getGenres() {
+        return genresFromMask(genreMask);
+    }
+
+    public void setGenres(Collection<Genre> genres) {
+        this.genreMask = genresToMask(genres);
     }
 
     public int getReleaseYear() {
@@ -181,6 +319,22 @@ public class MovieEntity {
         this.lengthInMinutes = lengthInMinutes;
     }
 
+    public List<MovieCreditEntity> getCredits() {
+        return credits;
+    }
+
+    public void setCredits(List<MovieCreditEntity> credits) {
+        this.credits = credits;
+    }
+
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(long contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public double getRating() {
         return rating;
     }
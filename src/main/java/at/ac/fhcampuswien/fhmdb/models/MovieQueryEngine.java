@@ -0,0 +1,115 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory query engine over an already loaded movie catalog.
+ * Mirrors the filter semantics of the /movies endpoint, so filtering does not need a network round-trip:
+ * <ul>
+ *     <li>query: case-insensitive substring of title, description, directors, writers or main cast</li>
+ *     <li>genre: movie has the given genre</li>
+ *     <li>releaseYear: exact release year</li>
+ *     <li>ratingFrom: rating greater than or equal to the given value</li>
+ * </ul>
+ * Blank or null parameters are ignored, just like in MovieApiRequestBuilder.
+ */
+public class MovieQueryEngine {
+    private final List<Movie> movies;
+    // Lowercased search text per movie, built once per catalog instead of once per query
+    private final String[] searchText;
+
+    public MovieQueryEngine(List<Movie> movies) {
+        this.movies = List.copyOf(movies);
+        this.searchText = new String[this.movies.size()];
+        for (int i = 0; i < searchText.length; i++) {
+            searchText[i] = buildSearchText(this.movies.get(i));
+        }
+    }
+
+    /**
+     * Filters the catalog with the same parameters the API accepts.
+     * @param query Search term or null
+     * @param genre Genre name or null
+     * @param releaseYear Release year or null
+     * @param ratingFrom Minimum rating or null
+     * @return New list with all matching movies in catalog order
+     * @throws IllegalArgumentException if genre, releaseYear or ratingFrom cannot be parsed
+     */
+    public List<Movie> filter(String query, String genre, String releaseYear, String ratingFrom) {
+        String needle = isBlank(query) ? null : query.trim().toLowerCase(Locale.ROOT);
+        Genre genreFilter = isBlank(genre) ? null : Genre.valueOf(genre.trim());
+        Integer yearFilter = isBlank(releaseYear) ? null : parseYear(releaseYear);
+        Double ratingFilter = isBlank(ratingFrom) ? null : parseRating(ratingFrom);
+
+        List<Movie> result = new ArrayList<>();
+        for (int i = 0; i < movies.size(); i++) {
+            Movie movie = movies.get(i);
+            if (needle != null && !searchText[i].contains(needle)) {
+                continue;
+            }
+            if (genreFilter != null && (movie.getGenres() == null || !movie.getGenres().contains(genreFilter))) {
+                continue;
+            }
+            if (yearFilter != null && movie.getReleaseYear() != yearFilter) {
+                continue;
+            }
+            if (ratingFilter != null && movie.getRating() < ratingFilter) {
+                continue;
+            }
+            result.add(movie);
+        }
+        return result;
+    }
+
+    /**
+     * @return Number of movies in the catalog
+     */
+    public int size() {
+        return movies.size();
+    }
+
+    private static String buildSearchText(Movie movie) {
+        StringBuilder text = new StringBuilder();
+        append(text, movie.getTitle());
+        append(text, movie.getDescription());
+        appendAll(text, movie.getDirectors());
+        appendAll(text, movie.getWriters());
+        appendAll(text, movie.getMainCast());
+        return text.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static void appendAll(StringBuilder text, List<String> values) {
+        if (values != null) {
+            values.forEach(value -> append(text, value));
+        }
+    }
+
+    private static void append(StringBuilder text, String value) {
+        if (value != null) {
+            // Separator prevents matches across field boundaries
+            text.append(value).append('\n');
+        }
+    }
+
+    private static int parseYear(String releaseYear) {
+        try {
+            return Integer.parseInt(releaseYear.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid release year: " + releaseYear, e);
+        }
+    }
+
+    private static double parseRating(String ratingFrom) {
+        try {
+            return Double.parseDouble(ratingFrom.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid rating: " + ratingFrom, e);
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
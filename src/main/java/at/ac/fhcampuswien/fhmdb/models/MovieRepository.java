@@ -1,8 +1,21 @@
 package at.ac.fhcampuswien.fhmdb.models;
 
 import at.ac.fhcampuswien.fhmdb.exceptions.DatabaseException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.StatelessSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Repository class for managing movie data in the database.
@@ -12,7 +25,13 @@ import java.util.Optional;
  */
 public class MovieRepository {
     private static volatile MovieRepository instance;
+    // Movies together with directors, writers and cast in one round trip
+    static final String FETCH_ALL_WITH_CREDITS =
+            "SELECT DISTINCT m FROM MovieEntity m LEFT JOIN FETCH m.credits c LEFT JOIN FETCH c.person";
+
     private final Database database;
+    // apiId -> title of every movie seen in the cache, so titles resolve without a query
+    private final Map<String, String> titles = new ConcurrentHashMap<>();
 
     /**
      * Private constructor to prevent direct instantiation.
@@ -52,6 +71,143 @@ public class MovieRepository {
         }
     }
 
+    /**
+     * Adds many movies in a single transaction using JDBC batching.
+     * Credits whose person already exists point to the stored row; new persons are inserted
+     * first, in the same transaction, so each name is stored only once.
+     * @param movies The movies to add
+     * @throws DatabaseException if database access fails
+     */
+    public void addMovies(List<MovieEntity> movies) throws DatabaseException {
+        try {
+            List<Object> entities = new ArrayList<>(resolvePersons(movies));
+            entities.addAll(movies);
+            database.saveAll(entities, database.getBatchSize());
+            invalidateCache();
+            rememberTitles(movies);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to add movies to database", e);
+        }
+    }
+
+    /**
+     * Replaces transient persons by already stored ones with the same name.
+     * @return The persons that still have to be inserted
+     */
+    private List<PersonEntity> resolvePersons(List<MovieEntity> movies) {
+        Map<String, PersonEntity> referenced = new LinkedHashMap<>();
+        for (MovieEntity movie : movies) {
+            for (MovieCreditEntity credit : movie.getCredits()) {
+                referenced.putIfAbsent(credit.getPerson().getName(), credit.getPerson());
+            }
+        }
+        if (referenced.isEmpty()) {
+            return List.of();
+        }
+        Map<String, PersonEntity> stored = new HashMap<>();
+        for (PersonEntity person : database.query("FROM PersonEntity p WHERE p.name IN :names",
+                PersonEntity.class, Map.of("names", referenced.keySet()))) {
+            stored.put(person.getName(), person);
+        }
+        for (MovieEntity movie : movies) {
+            for (MovieCreditEntity credit : movie.getCredits()) {
+                String name = credit.getPerson().getName();
+                credit.setPerson(stored.getOrDefault(name, referenced.get(name)));
+            }
+        }
+        referenced.keySet().removeAll(stored.keySet());
+        return new ArrayList<>(referenced.values());
+    }
+
+    /**
+     * Applies a catalog delta in one transaction.
+     * Rows of upserted and removed movies are deleted together with their credits (loaded
+     * with one fetch join, removed entity by entity so the second-level cache stays consistent),
+     * then the upserted movies are inserted as JDBC batches.
+     * @param upserts New or changed movies; an existing row with the same apiId is replaced
+     * @param removedApiIds apiIds of movies to delete
+     * @throws DatabaseException if database access fails
+     */
+    public void applyDelta(List<MovieEntity> upserts, Collection<String> removedApiIds) throws DatabaseException {
+        Set<String> replaced = new HashSet<>(removedApiIds);
+        upserts.forEach(movie -> replaced.add(movie.getApiId()));
+        if (replaced.isEmpty()) {
+            return;
+        }
+        try {
+            List<Object> inserts = new ArrayList<>(resolvePersons(upserts));
+            inserts.addAll(upserts);
+            database.inTransaction(session -> {
+                List<MovieEntity> stale = session.createQuery("SELECT DISTINCT m FROM MovieEntity m"
+                                + " LEFT JOIN FETCH m.credits WHERE m.apiId IN :ids", MovieEntity.class)
+                        .setParameter("ids", replaced)
+                        .list();
+                stale.forEach(session::remove);
+                // Deletes must reach the database before inserts reuse the same apiIds
+                session.flush();
+                Database.persistBatched(session, inserts, database.getBatchSize());
+                session.flush();
+                // Persons no longer credited anywhere
+                return session.createMutationQuery("DELETE FROM PersonEntity p WHERE NOT EXISTS "
+                                + "(SELECT 1 FROM MovieCreditEntity c WHERE c.person = p)")
+                        .executeUpdate();
+            });
+            invalidateCache();
+            removedApiIds.forEach(titles::remove);
+            rememberTitles(upserts);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to apply catalog changes to database", e);
+        }
+    }
+
+    /**
+     * Reads apiId and content hash of every cached movie without loading the entities.
+     * @return apiId -> content hash
+     * @throws DatabaseException if database access fails
+     */
+    public Map<String, Long> getContentHashes() throws DatabaseException {
+        try {
+            Map<String, Long> hashes = new HashMap<>();
+            for (Object[] row : database.query("SELECT m.apiId, m.contentHash FROM MovieEntity m", Object[].class)) {
+                hashes.put((String) row[0], (Long) row[1]);
+            }
+            return hashes;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to read movie content hashes from database", e);
+        }
+    }
+
+    /**
+     * Resolves a movie title from memory, falling back to the apiId lookup on a miss.
+     * @param apiId The API ID of the movie
+     * @return Optional containing the title, or empty if the movie is unknown
+     * @throws DatabaseException if the fallback lookup fails
+     */
+    public Optional<String> findTitle(String apiId) throws DatabaseException {
+        String title = titles.get(apiId);
+        if (title != null) {
+            return Optional.of(title);
+        }
+        Optional<String> found = findByApiId(apiId).map(MovieEntity::getTitle);
+        found.ifPresent(value -> titles.put(apiId, value));
+        return found;
+    }
+
+    private void rememberTitles(List<MovieEntity> movies) {
+        for (MovieEntity movie : movies) {
+            if (movie.getApiId() != null && movie.getTitle() != null) {
+                titles.put(movie.getApiId(), movie.getTitle());
+            }
+        }
+    }
+
+    /**
+     * Drops all cached movie entities and query results, e.g. after the catalog was refreshed.
+     */
+    public void invalidateCache() {
+        database.evictCache(MovieEntity.class);
+    }
+
     /**
      * Removes a movie from the database.
      * @param movie The movie to remove
@@ -72,12 +228,144 @@ public class MovieRepository {
      */
     public List<MovieEntity> getAllMovies() throws DatabaseException {
         try {
-            return database.findAll(MovieEntity.class);
+            List<MovieEntity> movies = database.query(FETCH_ALL_WITH_CREDITS, MovieEntity.class, Map.of());
+            rememberTitles(movies);
+            return movies;
         } catch (Exception e) {
             throw new DatabaseException("Failed to get all movies from database", e);
         }
     }
 
+    /**
+     * Streams the whole catalog as Movie objects, credits included, without materializing
+     * entities in a persistence context. Movies and credits are read with two forward-only
+     * cursors ordered by movie id and merged on the fly, so only one movie's credits are
+     * held at a time.
+     * @param consumer Receives each movie
+     * @return Number of movies streamed
+     * @throws DatabaseException if database access fails
+     */
+    public int streamMovies(Consumer<? super Movie> consumer) throws DatabaseException {
+        try (StatelessSession session = database.openStatelessSession();
+             ScrollableResults<MovieEntity> movies = database.scroll(session,
+                     "FROM MovieEntity m ORDER BY m.id", MovieEntity.class);
+             ScrollableResults<Object[]> credits = database.scroll(session,
+                     "SELECT c.movie.id, c.role, p.name FROM MovieCreditEntity c JOIN c.person p"
+                             + " ORDER BY c.movie.id, c.role, c.position", Object[].class)) {
+            int count = 0;
+            Object[] credit = credits.next() ? credits.get() : null;
+            while (movies.next()) {
+                MovieEntity movie = movies.get();
+                List<String> directors = new ArrayList<>();
+                List<String> writers = new ArrayList<>();
+                List<String> cast = new ArrayList<>();
+                // Skip credits of movies that sort before this one (should not happen with FK constraints)
+                while (credit != null && (Long) credit[0] < movie.getId()) {
+                    credit = credits.next() ? credits.get() : null;
+                }
+                while (credit != null && movie.getId().equals(credit[0])) {
+                    switch ((MovieCreditEntity.Role) credit[1]) {
+                        case DIRECTOR -> directors.add((String) credit[2]);
+                        case WRITER -> writers.add((String) credit[2]);
+                        case CAST -> cast.add((String) credit[2]);
+                    }
+                    credit = credits.next() ? credits.get() : null;
+                }
+                titles.put(movie.getApiId(), movie.getTitle());
+                consumer.accept(movie.toMovie(directors, writers, cast));
+                count++;
+            }
+            return count;
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to stream movies from database", e);
+        }
+    }
+
+    /**
+     * Retrieves one page of movies, sorted by a field.
+     * @param offset Number of movies to skip
+     * @param limit Maximum number of movies per page
+     * @param orderField Entity field to sort by, e.g. "title", "releaseYear" or "rating"
+     * @param ascending Sort direction
+     * @return The page including the total number of movies; credits are loaded
+     * @throws DatabaseException if database access fails or the field does not exist
+     */
+    public Page<MovieEntity> getMoviesPage(int offset, int limit, String orderField, boolean ascending) throws DatabaseException {
+        return getMoviesPage(EntityQuery.of(MovieEntity.class).orderBy(orderField, ascending).offset(offset).limit(limit));
+    }
+
+    /**
+     * Retrieves one page for an arbitrary movie query (predicates, ordering, offset or keyset).
+     * Credits of the page's movies are fetched with one additional query.
+     * @param query The query
+     * @return The page
+     * @throws DatabaseException if database access fails or the query is invalid
+     */
+    public Page<MovieEntity> getMoviesPage(EntityQuery<MovieEntity> query) throws DatabaseException {
+        try {
+            Page<MovieEntity> page = database.findPage(query);
+            return new Page<>(withCredits(page.items()), page.total(), page.offset(), page.nextKey());
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get movie page from database", e);
+        }
+    }
+
+    /**
+     * Counts the movies matching a query's predicates.
+     * @throws DatabaseException if database access fails or the query is invalid
+     */
+    public long countMovies(EntityQuery<MovieEntity> query) throws DatabaseException {
+        try {
+            return database.count(query);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to count movies in database", e);
+        }
+    }
+
+    // Reloads the given movies with their credits in one fetch join, keeping the order
+    private List<MovieEntity> withCredits(List<MovieEntity> movies) {
+        if (movies.isEmpty()) {
+            return movies;
+        }
+        List<Long> ids = movies.stream().map(MovieEntity::getId).toList();
+        Map<Long, MovieEntity> loaded = new HashMap<>();
+        for (MovieEntity movie : database.query(FETCH_ALL_WITH_CREDITS + " WHERE m.id IN :ids",
+                MovieEntity.class, Map.of("ids", ids))) {
+            loaded.put(movie.getId(), movie);
+        }
+        return movies.stream().map(movie -> loaded.getOrDefault(movie.getId(), movie)).toList();
+    }
+
+    /**
+     * Retrieves all movies that have the given genre.
+     * The genre test is a bitwise AND on genreMask and runs inside the database.
+     * @param genre The genre to filter by
+     * @return Matching movies
+     * @throws DatabaseException if database access fails
+     */
+    public List<MovieEntity> findByGenre(Genre genre) throws DatabaseException {
+        return findByGenres(EnumSet.of(genre), false);
+    }
+
+    /**
+     * Retrieves all movies matching a set of genres.
+     * @param genres The genres to filter by
+     * @param matchAll true: a movie needs every genre, false: any of them is enough
+     * @return Matching movies
+     * @throws DatabaseException if database access fails
+     */
+    public List<MovieEntity> findByGenres(Set<Genre> genres, boolean matchAll) throws DatabaseException {
+        long mask = MovieEntity.genresToMask(genres);
+        // H2 cannot infer the parameter type inside BITAND, hence the cast
+        String bits = "BITAND(m.genreMask, CAST(:mask AS Long))";
+        String predicate = matchAll ? bits + " = :mask" : bits + " <> 0";
+        try {
+            return database.query("FROM MovieEntity m WHERE " + predicate, MovieEntity.class, Map.of("mask", mask));
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get movies by genre from database", e);
+        }
+    }
+
     /**
      * Retrieves a movie by its ID.
      * @param id The ID of the movie to retrieve
@@ -92,6 +380,20 @@ public class MovieRepository {
         }
     }
 
+    /**
+     * Retrieves the movie with the given API ID using the unique apiId index.
+     * @param apiId The API ID of the movie to retrieve
+     * @return Optional containing the found movie, or empty if not found
+     * @throws DatabaseException if database access fails
+     */
+    public Optional<MovieEntity> findByApiId(String apiId) throws DatabaseException {
+        try {
+            return database.findOneByField(MovieEntity.class, "apiId", apiId);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to find movie by API ID in database", e);
+        }
+    }
+
     /**
      * Retrieves movies by their API ID.
      * @param apiId The API ID of the movies to retrieve
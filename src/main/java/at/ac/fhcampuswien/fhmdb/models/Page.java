@@ -0,0 +1,19 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import java.util.List;
+
+/**
+ * One page of query results.
+ *
+ * @param items   Rows of this page
+ * @param total   Rows matching the predicates over all pages, or -1 for keyset pages (not counted)
+ * @param offset  Offset of the first row (0 for keyset pages)
+ * @param nextKey Sort key of the last row, to be passed to EntityQuery.after for the next page;
+ *                null when this was the last page
+ */
+public record Page<T>(List<T> items, long total, int offset, List<Object> nextKey) {
+
+    public boolean hasNext() {
+        return nextKey != null;
+    }
+}
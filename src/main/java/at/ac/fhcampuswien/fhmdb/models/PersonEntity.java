@@ -0,0 +1,46 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * A director, writer or actor, stored once per distinct name in the "persons" table.
+ * Movies reference persons through MovieCreditEntity rows.
+ */
+@Entity
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "persons")
+@Table(name = "persons", indexes = @Index(name = "ux_persons_name", columnList = "name", unique = true))
+public class PersonEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "persons_seq")
+    @SequenceGenerator(name = "persons_seq", sequenceName = "persons_seq", allocationSize = Database.ID_ALLOCATION_SIZE)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Default constructor required by Hibernate
+    public PersonEntity() {
+    }
+
+    public PersonEntity(String name) {
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+}
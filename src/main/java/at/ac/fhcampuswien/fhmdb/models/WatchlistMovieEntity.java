@@ -9,7 +9,7 @@ import jakarta.persistence.*;
  * The complete movie data is referenced through the apiId from the movies table.
  */
 @Entity
-@Table(name = "watchlist")
+@Table(name = "watchlist", indexes = @Index(name = "ux_watchlist_api_id", columnList = "apiId", unique = true))
 public class WatchlistMovieEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,12 +1,16 @@
 package at.ac.fhcampuswien.fhmdb.models;
 
+import at.ac.fhcampuswien.fhmdb.concurrent.BackgroundExecutor;
 import at.ac.fhcampuswien.fhmdb.exceptions.DatabaseException;
 import at.ac.fhcampuswien.fhmdb.observer.Observable;
 import at.ac.fhcampuswien.fhmdb.observer.Observer;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Repository-Klasse für Watchlist-Daten.
@@ -14,11 +18,14 @@ import java.util.Optional;
  */
 public class WatchlistRepository implements Observable {
     private static volatile WatchlistRepository instance;
-    private final Database database;
     private final List<Observer> observers = new ArrayList<>();
+    private final WatchlistWriter writer;
+    // apiIds in der Watchlist inkl. noch nicht geschriebener Änderungen; null = noch nicht geladen
+    private Set<String> apiIds;
 
     private WatchlistRepository() {
-        this.database = Database.getInstance();
+        // Datenbank erst beim ersten Zugriff öffnen, damit Observer ohne Hibernate-Start registriert werden können
+        this.writer = new WatchlistWriter(Database::getInstance, this::onWriteFailed);
     }
 
     /**
@@ -63,55 +70,123 @@ public class WatchlistRepository implements Observable {
      * Fügt einen Film in die Watchlist ein. Informiert Observer:
      * - ALREADY_EXISTS, falls der Film schon vorhanden ist
      * - ADDED_SUCCESS, falls das Hinzufügen erfolgreich war
+     * Die Watchlist im Speicher wird sofort geändert; das Schreiben in die Datenbank
+     * übernimmt der WatchlistWriter im Hintergrund. Schlägt es fehl, wird SAVE_FAILED gemeldet.
      *
      * @param movieEntity Die WatchlistMovieEntity, die eingefügt werden soll
-     * @throws DatabaseException Wenn ein Datenbankfehler auftritt
+     * @throws DatabaseException Wenn die Watchlist nicht geladen werden kann
      */
     public void addToWatchlist(WatchlistMovieEntity movieEntity) throws DatabaseException {
-        try {
-            List<WatchlistMovieEntity> existingMovies = getWatchlistMoviesByApiId(movieEntity.getApiId());
-            String title = lookupTitle(movieEntity.getApiId());
-
-            if (!existingMovies.isEmpty()) {
-                notifyObservers(WatchlistStatus.ALREADY_EXISTS, title);
-                return;
+        String apiId = movieEntity.getApiId();
+        boolean added;
+        synchronized (this) {
+            added = loadedApiIds().add(apiId);
+            if (added) {
+                writer.enqueue(apiId, WatchlistWriter.Op.ADD);
             }
-
-            database.save(movieEntity);
-            notifyObservers(WatchlistStatus.ADDED_SUCCESS, title);
-
-        } catch (DatabaseException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DatabaseException("Failed to add movie to watchlist", e);
         }
+        notifyObservers(added ? WatchlistStatus.ADDED_SUCCESS : WatchlistStatus.ALREADY_EXISTS, lookupTitle(apiId));
     }
 
     /**
-     * Entfernt einen Film aus der Watchlist. Informiert Observer:
+     * Entfernt einen Film (anhand seiner API-ID) aus der Watchlist. Informiert Observer:
      * - NOT_FOUND, falls der Film nicht in der Watchlist aber trotzdem im UI war
      * - REMOVED_SUCCESS, falls das Entfernen erfolgreich war
+     * Wie beim Hinzufügen wird die Datenbank im Hintergrund aktualisiert.
      *
      * @param movieEntity Die WatchlistMovieEntity, die entfernt werden soll
-     * @throws DatabaseException Wenn ein Datenbankfehler auftritt
+     * @throws DatabaseException Wenn die Watchlist nicht geladen werden kann
      */
     public void removeFromWatchlist(WatchlistMovieEntity movieEntity) throws DatabaseException {
+        String apiId = movieEntity.getApiId();
+        boolean removed;
+        synchronized (this) {
+            removed = loadedApiIds().remove(apiId);
+            if (removed) {
+                writer.enqueue(apiId, WatchlistWriter.Op.REMOVE);
+            }
+        }
+        notifyObservers(removed ? WatchlistStatus.REMOVED_SUCCESS : WatchlistStatus.NOT_FOUND, lookupTitle(apiId));
+    }
+
+    /**
+     * Prüft ohne Datenbankzugriff (nach dem ersten Laden), ob ein Film in der Watchlist ist.
+     *
+     * @param apiId Die API-ID des Films
+     * @return true, wenn der Film in der Watchlist ist
+     * @throws DatabaseException Wenn die Watchlist nicht geladen werden kann
+     */
+    public synchronized boolean isOnWatchlist(String apiId) throws DatabaseException {
+        return loadedApiIds().contains(apiId);
+    }
+
+    /**
+     * Schreibt alle offenen Änderungen sofort (blockierend), z. B. vor dem Beenden.
+     *
+     * @throws DatabaseException Wenn das Schreiben fehlschlägt
+     */
+    public void flush() throws DatabaseException {
         try {
-            Optional<WatchlistMovieEntity> potentialMovies = getWatchlistMovieById(movieEntity.getId());
-            String title = lookupTitle(movieEntity.getApiId());
+            writer.flush();
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to save watchlist changes", e);
+        }
+    }
+
+    /**
+     * Schreibt offene Änderungen und beendet den Hintergrund-Writer.
+     */
+    public void shutdown() {
+        try {
+            writer.shutdown();
+        } catch (Exception e) {
+            System.out.println("Could not save watchlist changes: " + e.getMessage());
+        }
+    }
 
-            if (potentialMovies.isEmpty()) {
-                notifyObservers(WatchlistStatus.NOT_FOUND, title);
-                return;
+    private Set<String> loadedApiIds() throws DatabaseException {
+        if (apiIds == null) {
+            try {
+                Set<String> loaded = new LinkedHashSet<>(database().query(
+                        "SELECT w.apiId FROM WatchlistMovieEntity w ORDER BY w.id", String.class));
+                writer.pendingChanges().forEach((apiId, op) -> {
+                    if (op == WatchlistWriter.Op.ADD) {
+                        loaded.add(apiId);
+                    } else {
+                        loaded.remove(apiId);
+                    }
+                });
+                apiIds = loaded;
+            } catch (Exception e) {
+                throw new DatabaseException("Failed to load watchlist", e);
             }
+        }
+        return apiIds;
+    }
 
-            database.delete(movieEntity);
-            notifyObservers(WatchlistStatus.REMOVED_SUCCESS, title);
+    private Database database() {
+        return Database.getInstance();
+    }
 
-        } catch (DatabaseException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DatabaseException("Failed to remove movie from watchlist", e);
+    /**
+     * Der Writer konnte Änderungen nicht speichern: Zustand im Speicher verwerfen (wird beim
+     * nächsten Zugriff aus der Datenbank neu geladen) und Observer auf dem FX-Thread informieren.
+     */
+    private void onWriteFailed(WatchlistWriter.Failure failure) {
+        synchronized (this) {
+            apiIds = null;
+        }
+        System.out.println("Could not save watchlist changes: " + failure.error().getMessage());
+        String titles = failure.changes().keySet().stream().map(this::lookupTitle).collect(Collectors.joining(", "));
+        if (!observers.isEmpty()) {
+            BackgroundExecutor.fx().execute(() -> notifyObservers(WatchlistStatus.SAVE_FAILED, titles));
+        }
+    }
+
+    // Lesende Zugriffe sollen eigene, noch nicht geschriebene Änderungen sehen
+    private void flushPending() throws DatabaseException {
+        if (writer.hasPending()) {
+            flush();
         }
     }
 
@@ -122,13 +197,35 @@ public class WatchlistRepository implements Observable {
      * @throws DatabaseException Wenn ein Fehler beim Datenbankzugriff auftritt
      */
     public List<WatchlistMovieEntity> getAllWatchlistMovies() throws DatabaseException {
+        flushPending();
         try {
-            return database.findAll(WatchlistMovieEntity.class);
+            return database().findAll(WatchlistMovieEntity.class);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get all watchlist movies", e);
         }
     }
 
+    /**
+     * Lädt alle Filme der Watchlist samt Regie, Drehbuch und Besetzung mit einer einzigen
+     * Abfrage (Join über apiId) statt einer Abfrage pro Eintrag. Reihenfolge: wie sie hinzugefügt wurden.
+     *
+     * @return Die Filme der Watchlist
+     * @throws DatabaseException Wenn ein Fehler beim Datenbankzugriff auftritt
+     */
+    public List<Movie> getWatchlistMovies() throws DatabaseException {
+        flushPending();
+        try {
+            List<MovieEntity> entities = database().query(
+                    "SELECT m FROM WatchlistMovieEntity w JOIN MovieEntity m ON m.apiId = w.apiId"
+                            + " LEFT JOIN FETCH m.credits c LEFT JOIN FETCH c.person ORDER BY w.id",
+                    MovieEntity.class
+            );
+            return MovieEntity.toMovies(entities);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to load watchlist movies", e);
+        }
+    }
+
     /**
      * Sucht einen Watchlist-Eintrag anhand seiner Datenbank-ID.
      *
@@ -137,13 +234,72 @@ public class WatchlistRepository implements Observable {
      * @throws DatabaseException Wenn ein Fehler beim Datenbankzugriff auftritt
      */
     public Optional<WatchlistMovieEntity> getWatchlistMovieById(Long id) throws DatabaseException {
+        flushPending();
         try {
-            return database.findById(WatchlistMovieEntity.class, id);
+            return database().findById(WatchlistMovieEntity.class, id);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get watchlist movie by ID", e);
         }
     }
 
+    /**
+     * Sucht den Watchlist-Eintrag mit der gegebenen API-ID (eindeutiger Index auf apiId).
+     *
+     * @param apiId Die externe API-ID des Films
+     * @return Optional mit dem Eintrag, wenn gefunden
+     * @throws DatabaseException Wenn ein Fehler beim Datenbankzugriff auftritt
+     */
+    public Optional<WatchlistMovieEntity> findByApiId(String apiId) throws DatabaseException {
+        flushPending();
+        try {
+            return database().findOneByField(WatchlistMovieEntity.class, "apiId", apiId);
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to find watchlist movie by API ID", e);
+        }
+    }
+
+    /**
+     * Liefert eine Seite der Watchlist in der Reihenfolge des Hinzufügens (Offset-Paging,
+     * inklusive Gesamtanzahl).
+     *
+     * @param offset Anzahl der zu überspringenden Einträge
+     * @param limit  Maximale Anzahl Einträge pro Seite
+     * @return Die Seite
+     * @throws DatabaseException Wenn ein Fehler beim Datenbankzugriff auftritt
+     */
+    public Page<WatchlistMovieEntity> getWatchlistPage(int offset, int limit) throws DatabaseException {
+        flushPending();
+        try {
+            return database().findPage(EntityQuery.of(WatchlistMovieEntity.class)
+                    .orderBy("id", true)
+                    .offset(offset)
+                    .limit(limit));
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get watchlist page", e);
+        }
+    }
+
+    /**
+     * Liefert die nächste Seite nach einem Schlüssel (Keyset-Paging); bleibt auch bei
+     * langen Listen schnell, da nicht über übersprungene Zeilen gelesen wird.
+     *
+     * @param after Page.nextKey() der vorherigen Seite, oder null für die erste Seite
+     * @param limit Maximale Anzahl Einträge pro Seite
+     * @return Die Seite (ohne Gesamtanzahl)
+     * @throws DatabaseException Wenn ein Fehler beim Datenbankzugriff auftritt
+     */
+    public Page<WatchlistMovieEntity> getWatchlistPageAfter(List<Object> after, int limit) throws DatabaseException {
+        flushPending();
+        try {
+            return database().findPage(EntityQuery.of(WatchlistMovieEntity.class)
+                    .orderBy("id", true)
+                    .after(after == null ? List.of(0L) : after)
+                    .limit(limit));
+        } catch (Exception e) {
+            throw new DatabaseException("Failed to get watchlist page", e);
+        }
+    }
+
     /**
      * Sucht alle Watchlist-Einträge mit der gegebenen API-ID.
      *
@@ -152,8 +308,9 @@ public class WatchlistRepository implements Observable {
      * @throws DatabaseException Wenn ein Fehler beim Datenbankzugriff auftritt
      */
     public List<WatchlistMovieEntity> getWatchlistMoviesByApiId(String apiId) throws DatabaseException {
+        flushPending();
         try {
-            return database.findByField(WatchlistMovieEntity.class, "apiId", apiId);
+            return database().findByField(WatchlistMovieEntity.class, "apiId", apiId);
         } catch (Exception e) {
             throw new DatabaseException("Failed to get watchlist movie by API ID", e);
         }
@@ -168,10 +325,9 @@ public class WatchlistRepository implements Observable {
      */
     private String lookupTitle(String apiId) {
         try {
-            MovieRepository movieRepo = MovieRepository.getInstance();
-            List<MovieEntity> entities = movieRepo.getMoviesByApiId(apiId);
-            if (!entities.isEmpty()) {
-                return entities.get(0).getTitle();
+            Optional<String> title = MovieRepository.getInstance().findTitle(apiId);
+            if (title.isPresent()) {
+                return title.get();
             }
         } catch (DatabaseException e) {
             // Fallback: apiId zurückgeben
@@ -4,5 +4,7 @@ public enum WatchlistStatus {
     ADDED_SUCCESS,
     ALREADY_EXISTS,
     NOT_FOUND,
-    REMOVED_SUCCESS
+    REMOVED_SUCCESS,
+    // Hintergrund-Speichern fehlgeschlagen; title enthält die betroffenen Filme
+    SAVE_FAILED
 }
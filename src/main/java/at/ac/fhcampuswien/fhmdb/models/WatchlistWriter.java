@@ -0,0 +1,172 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import org.hibernate.Session;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.SynchronizeableQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Schreibt Watchlist-Änderungen verzögert (write-behind) in die Datenbank.
+ * Offene Änderungen werden pro apiId zusammengefasst: ein Hinzufügen und ein
+ * anschließendes Entfernen desselben Films (oder umgekehrt) heben sich auf.
+ * Geschrieben wird in einer Transaktion, sobald flushSize Änderungen offen sind
+ * oder flushMillis nach der ersten offenen Änderung vergangen sind.
+ *
+ * Konfiguration: -Dfhmdb.watchlist.flushSize (Standard 20), -Dfhmdb.watchlist.flushMs (Standard 500)
+ */
+class WatchlistWriter {
+
+    enum Op {
+        ADD,
+        REMOVE
+    }
+
+    /**
+     * Änderungen, die nicht geschrieben werden konnten.
+     */
+    record Failure(Map<String, Op> changes, Exception error) {
+    }
+
+    private final Supplier<Database> database;
+    private final Consumer<Failure> onFailure;
+    private final int flushSize = Integer.getInteger("fhmdb.watchlist.flushSize", 20);
+    private final long flushMillis = Long.getLong("fhmdb.watchlist.flushMs", 500L);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("fhmdb-watchlist-writer").daemon(true).factory());
+
+    // Reihenfolge der ersten Änderung bleibt erhalten, damit Einträge in Klick-Reihenfolge landen
+    private Map<String, Op> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    // Serialisiert Schreibvorgänge (Timer, Größe, explizites flush())
+    private final Object flushLock = new Object();
+
+    WatchlistWriter(Supplier<Database> database, Consumer<Failure> onFailure) {
+        this.database = database;
+        this.onFailure = onFailure;
+    }
+
+    /**
+     * Merkt eine Änderung vor; kehrt sofort zurück.
+     */
+    synchronized void enqueue(String apiId, Op op) {
+        Op previous = pending.remove(apiId);
+        if (previous == null || previous == op) {
+            pending.put(apiId, op);
+        }
+        // previous != op: Hinzufügen + Entfernen heben sich auf, in der Datenbank ändert sich nichts
+        if (pending.size() >= flushSize) {
+            scheduler.execute(this::flushQuietly);
+        } else if (scheduledFlush == null && !pending.isEmpty()) {
+            scheduledFlush = scheduler.schedule(this::flushQuietly, flushMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * @return Noch nicht geschriebene Änderungen (Kopie)
+     */
+    synchronized Map<String, Op> pendingChanges() {
+        return new LinkedHashMap<>(pending);
+    }
+
+    private synchronized Map<String, Op> drain() {
+        Map<String, Op> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Exception e) {
+            // wurde bereits über onFailure gemeldet
+        }
+    }
+
+    /**
+     * Schreibt alle offenen Änderungen sofort und blockierend.
+     *
+     * @throws RuntimeException Wenn das Schreiben fehlschlägt (zusätzlich an onFailure gemeldet)
+     */
+    void flush() {
+        synchronized (flushLock) {
+            Map<String, Op> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                onFailure.accept(new Failure(batch, e));
+                throw e;
+            }
+        }
+    }
+
+    private void write(Map<String, Op> batch) {
+        List<String> added = new ArrayList<>();
+        List<String> removed = new ArrayList<>();
+        batch.forEach((apiId, op) -> (op == Op.ADD ? added : removed).add(apiId));
+
+        database.get().inTransaction(session -> {
+            if (!removed.isEmpty()) {
+                watchlistMutation(session, "DELETE FROM watchlist WHERE apiId IN (:ids)")
+                        .setParameterList("ids", removed)
+                        .executeUpdate();
+            }
+            if (!added.isEmpty()) {
+                // Ein einziges Statement für alle neuen Einträge; vorhandene apiIds bleiben unverändert
+                StringBuilder sql = new StringBuilder("MERGE INTO watchlist (apiId) KEY (apiId) VALUES ");
+                for (int i = 0; i < added.size(); i++) {
+                    sql.append(i == 0 ? "" : ", ").append("(?").append(i + 1).append(")");
+                }
+                MutationQuery merge = watchlistMutation(session, sql.toString());
+                for (int i = 0; i < added.size(); i++) {
+                    merge.setParameter(i + 1, added.get(i));
+                }
+                merge.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Natives DML-Statement, das nur die Watchlist-Caches ungültig macht (ohne Query-Space
+     * würde Hibernate den gesamten Second-Level-Cache leeren).
+     */
+    private static MutationQuery watchlistMutation(Session session, String sql) {
+        MutationQuery query = session.createNativeMutationQuery(sql);
+        if (query instanceof SynchronizeableQuery synchronizeable) {
+            synchronizeable.addSynchronizedEntityClass(WatchlistMovieEntity.class);
+        }
+        return query;
+    }
+
+    /**
+     * Schreibt offene Änderungen und beendet den Schreib-Thread.
+     */
+    void shutdown() {
+        try {
+            flush();
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -13,6 +13,10 @@ module at.ac.fhcampuswien.fhmdb {
     requires java.sql;
     requires transitive org.hibernate.orm.core;
     requires com.h2database;
+    requires org.hibernate.orm.hikaricp;
+    requires com.zaxxer.hikari;
+    requires org.hibernate.orm.jcache;
+    requires com.github.benmanes.caffeine.jcache;
     requires java.naming;
     requires jakarta.persistence;
 
@@ -27,4 +31,5 @@ module at.ac.fhcampuswien.fhmdb {
     exports at.ac.fhcampuswien.fhmdb.models.sorting;
     opens at.ac.fhcampuswien.fhmdb.models.sorting to com.google.gson, org.hibernate.orm.core;
     exports at.ac.fhcampuswien.fhmdb.observer;
+    exports at.ac.fhcampuswien.fhmdb.concurrent;
 } 
\ No newline at end of file
@@ -0,0 +1,70 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+    private final CircuitBreaker breaker = new CircuitBreaker(2, 1000, now::get);
+
+    @Test
+    void recordFailure_reachingThreshold_opensAndRejects() {
+        // when:
+        breaker.recordFailure();
+        breaker.recordFailure();
+        // then:
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.allowRequest());
+        assertEquals(1, breaker.getStats().rejected());
+    }
+
+    @Test
+    void allowRequest_afterOpenPeriod_letsOneProbeThroughAndClosesOnSuccess() {
+        // given:
+        breaker.recordFailure();
+        breaker.recordFailure();
+        now.set(1000);
+        // when:
+        boolean probe = breaker.allowRequest();
+        boolean second = breaker.allowRequest();
+        breaker.recordSuccess();
+        // then:
+        assertTrue(probe);
+        assertFalse(second);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void releaseProbe_afterCancelledProbe_letsNextProbeThrough() {
+        // given:
+        breaker.recordFailure();
+        breaker.recordFailure();
+        now.set(1000);
+        assertTrue(breaker.allowRequest());
+        // when:
+        breaker.releaseProbe();
+        // then:
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        assertFalse(breaker.allowRequest());
+    }
+
+    @Test
+    void recordFailure_whileOpen_doesNotExtendOpenPeriod() {
+        // given:
+        breaker.recordFailure();
+        breaker.recordFailure();
+        // when:
+        now.set(900);
+        breaker.recordFailure();
+        now.set(1000);
+        // then:
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertEquals(1, breaker.getStats().opened());
+    }
+}
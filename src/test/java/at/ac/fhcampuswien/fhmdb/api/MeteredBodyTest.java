@@ -0,0 +1,104 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import okhttp3.MediaType;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeteredBodyTest {
+
+    private static final String JSON = "[" + "{\"id\":\"1\",\"title\":\"Über Inception\"},".repeat(200) + "{}]";
+    private static final byte[] PLAIN = JSON.getBytes(StandardCharsets.UTF_8);
+    private static final MediaType TYPE = MediaType.get("application/json; charset=utf-8");
+
+    @Test
+    void gzipBody_isDecodedAndBothSidesCounted() throws IOException {
+        // given:
+        byte[] wire = compress(GZIPOutputStream::new);
+        MeteredBody body = new MeteredBody(ResponseBody.create(wire, TYPE), "gzip");
+        // when:
+        String content = readAll(body.reader());
+        // then:
+        assertEquals(JSON, content);
+        assertEquals("gzip", body.encoding());
+        assertEquals(wire.length, body.compressedBytes());
+        assertEquals(PLAIN.length, body.uncompressedBytes());
+        assertTrue(wire.length < PLAIN.length);
+    }
+
+    @Test
+    void deflateBody_isDecodedAndBothSidesCounted() throws IOException {
+        // given:
+        byte[] wire = compress(DeflaterOutputStream::new);
+        MeteredBody body = new MeteredBody(ResponseBody.create(wire, TYPE), " Deflate ");
+        // when:
+        String content = readAll(body.reader());
+        // then:
+        assertEquals(JSON, content);
+        assertEquals("deflate", body.encoding());
+        assertEquals(wire.length, body.compressedBytes());
+        assertEquals(PLAIN.length, body.uncompressedBytes());
+    }
+
+    @Test
+    void identityOrMissingEncoding_passesBytesThrough() throws IOException {
+        for (String encoding : new String[]{null, "identity"}) {
+            // given:
+            MeteredBody body = new MeteredBody(ResponseBody.create(PLAIN, TYPE), encoding);
+            // when:
+            String content = readAll(body.reader());
+            // then:
+            assertEquals(JSON, content);
+            assertEquals("identity", body.encoding());
+            assertEquals(PLAIN.length, body.compressedBytes());
+            assertEquals(PLAIN.length, body.uncompressedBytes());
+        }
+    }
+
+    @Test
+    void unknownEncoding_isRejected() {
+        // then:
+        assertThrows(IOException.class, () -> new MeteredBody(ResponseBody.create(PLAIN, TYPE), "br"));
+    }
+
+    @Test
+    void transferStats_sumsSamplesAndKeepsLast() {
+        // given:
+        TransferStats stats = new TransferStats();
+        // when:
+        stats.record(new TransferStats.Sample("a", "gzip", 100, 400, 10));
+        stats.record(new TransferStats.Sample("b", "identity", 50, 50, 5));
+        // then:
+        assertEquals(new TransferStats.Totals(2, 150, 450, 15), stats.getTotals());
+        assertEquals("b", stats.getLast().url());
+        assertEquals(4.0, new TransferStats.Sample("a", "gzip", 100, 400, 10).compressionRatio());
+    }
+
+    private interface Compressor {
+        OutputStream wrap(OutputStream out) throws IOException;
+    }
+
+    private static byte[] compress(Compressor compressor) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = compressor.wrap(bytes)) {
+            out.write(PLAIN);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String readAll(Reader reader) throws IOException {
+        StringWriter out = new StringWriter();
+        reader.transferTo(out);
+        return out.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import at.ac.fhcampuswien.fhmdb.bench.StandInMovieServer;
+import at.ac.fhcampuswien.fhmdb.exceptions.MovieApiException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieAPITest {
+
+    @Test
+    void getMovies_clientErrorsAndMalformedBodies_leaveBreakerClosed() throws Exception {
+        String previous = MovieAPI.getBaseUrl();
+        long failuresBefore = MovieAPI.getCircuitBreaker().getStats().failures();
+        try (StandInMovieServer server = new StandInMovieServer(10, 0, 0.0)) {
+            // given:
+            MovieAPI.setBaseUrl(server.getBaseUrl());
+            // when:
+            server.respondWith(404, "{\"error\":\"not found\"}");
+            for (int i = 0; i < 10; i++) {
+                String query = "missing-" + i;
+                assertThrows(MovieApiException.class, () -> MovieAPI.getMovies(query, null, null, null));
+            }
+            for (int i = 0; i < 10; i++) {
+                server.respondWith(200, i % 2 == 0 ? "this is not json" : "{\"movies\":[]}");
+                String query = "malformed-" + i;
+                assertThrows(MovieApiException.class, () -> MovieAPI.getMovies(query, null, null, null));
+            }
+            // then:
+            assertEquals(CircuitBreaker.State.CLOSED, MovieAPI.getCircuitBreaker().getState());
+            assertEquals(failuresBefore, MovieAPI.getCircuitBreaker().getStats().failures());
+        } finally {
+            MovieAPI.setBaseUrl(previous);
+        }
+    }
+}
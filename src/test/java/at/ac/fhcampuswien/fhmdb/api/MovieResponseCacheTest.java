@@ -0,0 +1,45 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import at.ac.fhcampuswien.fhmdb.models.Genre;
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieResponseCacheTest {
+
+    private final AtomicLong now = new AtomicLong(0);
+    private final List<Movie> movies = List.of(new Movie("Inception", "A thief", List.of(Genre.ACTION)));
+
+    @Test
+    void put_beyondMaxEntries_evictsLeastRecentlyUsed() {
+        // given:
+        MovieResponseCache cache = new MovieResponseCache(2, 1000, now::get);
+        cache.put("a", movies, null, null);
+        cache.put("b", movies, null, null);
+        cache.get("a");
+        // when:
+        cache.put("c", movies, null, null);
+        // then:
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getStats().evictions());
+    }
+
+    @Test
+    void isFresh_afterTtl_returnsFalseUntilRefreshed() {
+        // given:
+        MovieResponseCache cache = new MovieResponseCache(4, 1000, now::get);
+        cache.put("a", movies, "\"v1\"", null);
+        // when:
+        now.set(1500);
+        MovieResponseCache.Entry stale = cache.get("a");
+        // then:
+        assertFalse(cache.isFresh(stale));
+        assertTrue(cache.isFresh(cache.refresh("a", stale)));
+        assertEquals("\"v1\"", cache.get("a").etag());
+    }
+}
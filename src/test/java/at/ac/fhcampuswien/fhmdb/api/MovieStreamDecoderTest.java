@@ -0,0 +1,42 @@
+package at.ac.fhcampuswien.fhmdb.api;
+
+import at.ac.fhcampuswien.fhmdb.models.Genre;
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieStreamDecoderTest {
+
+    @Test
+    void decode_passesEveryMovieToConsumerInOrder() throws IOException {
+        // given:
+        String json = "[{\"id\":\"1\",\"title\":\"Inception\",\"genres\":[\"ACTION\"],\"releaseYear\":2010},"
+                + "{\"id\":\"2\",\"title\":\"Pulp Fiction\",\"genres\":[\"CRIME\",\"DRAMA\"],\"releaseYear\":1994}]";
+        List<Movie> movies = new ArrayList<>();
+        // when:
+        int count = MovieStreamDecoder.decode(new StringReader(json), movies::add);
+        // then:
+        assertEquals(2, count);
+        assertEquals("Inception", movies.get(0).getTitle());
+        assertEquals(List.of(Genre.CRIME, Genre.DRAMA), movies.get(1).getGenres());
+    }
+
+    @Test
+    void decode_nullOrEmptyArray_returnsZero() throws IOException {
+        // given:
+        List<Movie> movies = new ArrayList<>();
+        // when:
+        int fromNull = MovieStreamDecoder.decode(new StringReader("null"), movies::add);
+        int fromEmpty = MovieStreamDecoder.decode(new StringReader("[]"), movies::add);
+        // then:
+        assertEquals(0, fromNull);
+        assertEquals(0, fromEmpty);
+        assertTrue(movies.isEmpty());
+    }
+}
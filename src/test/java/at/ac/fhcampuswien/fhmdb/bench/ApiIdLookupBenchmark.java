@@ -0,0 +1,58 @@
+package at.ac.fhcampuswien.fhmdb.bench;
+
+import at.ac.fhcampuswien.fhmdb.models.Database;
+import at.ac.fhcampuswien.fhmdb.models.Genre;
+import at.ac.fhcampuswien.fhmdb.models.MovieEntity;
+import at.ac.fhcampuswien.fhmdb.models.MovieRepository;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Misst MovieRepository.findByApiId bei wachsender Tabellengröße.
+ * Mit dem eindeutigen Index auf apiId bleibt die Latenz pro Lookup annähernd konstant.
+ * Läuft gegen eine In-Memory-H2 (-Dfhmdb.db.url), die echte Datenbankdatei bleibt unberührt.
+ *
+ * Aufruf: ApiIdLookupBenchmark [lookupsPerStep]
+ */
+public class ApiIdLookupBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        System.setProperty("fhmdb.db.url", "jdbc:h2:mem:lookup-bench;DB_CLOSE_DELAY=-1");
+        MovieRepository repo = MovieRepository.getInstance();
+
+        int[] steps = {1_000, 10_000, 50_000, 100_000};
+        int inserted = 0;
+        System.out.println("rows       avg lookup (us)");
+        for (int target : steps) {
+            List<MovieEntity> batch = new ArrayList<>();
+            for (int i = inserted; i < target; i++) {
+                batch.add(new MovieEntity("api-" + i, "Movie " + i, "Description " + i, MovieEntity.genreBit(Genre.DRAMA),
+                        2000 + i % 25, "https://example.org/" + i + ".jpg", 120, 7.5));
+            }
+            repo.addMovies(batch);
+            inserted = target;
+
+            // Aufwärmen, dann messen
+            for (int i = 0; i < 200; i++) {
+                repo.findByApiId("api-" + ThreadLocalRandom.current().nextInt(inserted));
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                repo.findByApiId("api-" + ThreadLocalRandom.current().nextInt(inserted));
+            }
+            double avgMicros = (System.nanoTime() - start) / 1e3 / lookups;
+            System.out.printf("%-10d %.1f%n", inserted, avgMicros);
+        }
+
+        try (Session session = Database.getInstance().getSession()) {
+            Object plan = session.createNativeQuery("EXPLAIN SELECT * FROM movies WHERE apiId = 'api-1'", Object.class)
+                    .getSingleResult();
+            System.out.println("Plan: " + plan);
+        }
+        Database.getInstance().close();
+    }
+}
@@ -0,0 +1,121 @@
+package at.ac.fhcampuswien.fhmdb.bench;
+
+import at.ac.fhcampuswien.fhmdb.api.MovieAPI;
+import at.ac.fhcampuswien.fhmdb.exceptions.MovieApiException;
+import at.ac.fhcampuswien.fhmdb.models.Genre;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lastgenerator für MovieAPI gegen den StandInMovieServer.
+ * Startet eine feste Anzahl paralleler Worker, die für eine bestimmte Dauer
+ * zufällige Filter-Anfragen schicken, und gibt p50/p99-Latenz und Durchsatz aus.
+ *
+ * Aufruf: LoadGenerator [catalogSize] [concurrency] [durationSeconds] [latencyMs] [errorRate]
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws Exception {
+        int catalogSize = arg(args, 0, 1000);
+        int concurrency = arg(args, 1, 16);
+        int durationSeconds = arg(args, 2, 10);
+        int latencyMs = arg(args, 3, 20);
+        double errorRate = args.length > 4 ? Double.parseDouble(args[4]) : 0.0;
+
+        // Response-Cache aus, sonst misst man nur den Cache (muss vor dem ersten MovieAPI-Zugriff passieren)
+        System.setProperty("fhmdb.http.cache.maxEntries", System.getProperty("fhmdb.http.cache.maxEntries", "0"));
+
+        try (StandInMovieServer server = new StandInMovieServer(catalogSize, latencyMs, errorRate)) {
+            MovieAPI.setBaseUrl(server.getBaseUrl());
+            System.out.printf("Stand-in server at %s, catalog=%d, concurrency=%d, duration=%ds, latency=%dms, errorRate=%.2f%n",
+                    server.getBaseUrl(), catalogSize, concurrency, durationSeconds, latencyMs, errorRate);
+
+            Result result = run(concurrency, durationSeconds * 1000L);
+            System.out.println(result);
+        }
+    }
+
+    /**
+     * Ergebnis eines Lastlaufs.
+     */
+    public record Result(long requests, long errors, double p50Millis, double p99Millis, double throughputPerSecond) {
+        @Override
+        public String toString() {
+            return String.format("requests=%d errors=%d p50=%.2fms p99=%.2fms throughput=%.1f req/s",
+                    requests, errors, p50Millis, p99Millis, throughputPerSecond);
+        }
+    }
+
+    /**
+     * Treibt MovieAPI mit fester Parallelität gegen die aktuell eingestellte Basis-URL.
+     */
+    public static Result run(int concurrency, long durationMillis) throws Exception {
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + durationMillis * 1_000_000L;
+        long started = System.nanoTime();
+
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> worker(deadline, errors)));
+            }
+        }
+
+        List<Long> all = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            for (long nanos : worker.get()) {
+                all.add(nanos);
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+        long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+        return new Result(
+                sorted.length,
+                errors.get(),
+                percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.99) / 1e6,
+                sorted.length / elapsedSeconds
+        );
+    }
+
+    private static long[] worker(long deadline, AtomicLong errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        Genre[] genres = Genre.values();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String genre = random.nextBoolean() ? genres[random.nextInt(genres.length)].name() : null;
+            String rating = random.nextBoolean() ? String.valueOf(random.nextInt(9)) : null;
+            long start = System.nanoTime();
+            try {
+                MovieAPI.getMovies(null, genre, null, rating);
+            } catch (MovieApiException e) {
+                errors.incrementAndGet();
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static int arg(String[] args, int index, int fallback) {
+        return args.length > index ? Integer.parseInt(args[index]) : fallback;
+    }
+}
@@ -0,0 +1,283 @@
+package at.ac.fhcampuswien.fhmdb.bench;
+
+import at.ac.fhcampuswien.fhmdb.models.Genre;
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+import com.google.gson.Gson;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Lokaler Stand-in für den /movies-Endpoint, nur für Lasttests und Benchmarks.
+ * Bedient query/genre/releaseYear/ratingFrom sowie page/limit auf einem synthetischen Katalog.
+ * Gefiltert wird mit eigener, bewusst einfacher Logik (nicht mit MovieQueryEngine), damit
+ * Vergleiche zwischen API und lokaler Filterung Fehler in der Engine aufdecken können. Latenz und Fehlerrate sind einstellbar.
+ * Minimaler HTTP/1.1-Server auf Basis von ServerSocket mit Keep-Alive und optional gzip.
+ */
+public class StandInMovieServer implements AutoCloseable {
+    private static final Gson GSON = new Gson();
+
+    private final List<Movie> catalog;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    // Feste Antwort für Fehlertests; null = normal bedienen
+    private volatile FixedResponse fixedResponse;
+
+    private record FixedResponse(int code, byte[] body) {
+    }
+
+    /**
+     * @param catalogSize   Anzahl synthetischer Filme
+     * @param latencyMillis Künstliche Verzögerung pro Request
+     * @param errorRate     Anteil der Requests (0..1), die mit 500 beantwortet werden
+     */
+    public StandInMovieServer(int catalogSize, long latencyMillis, double errorRate) throws IOException {
+        this.catalog = syntheticCatalog(catalogSize, 42L);
+        this.latencyMillis = latencyMillis;
+        this.errorRate = errorRate;
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+        workers.submit(this::acceptLoop);
+    }
+
+    /**
+     * @return Basis-URL für MovieAPI.setBaseUrl
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + serverSocket.getLocalPort() + "/movies";
+    }
+
+    /**
+     * Beantwortet ab jetzt jeden Request mit diesem Status und Body (z. B. 404 oder kaputtes JSON).
+     *
+     * @param code Statuscode; 0 stellt wieder auf normale Antworten um
+     * @param body Response-Body
+     */
+    public void respondWith(int code, String body) {
+        fixedResponse = code == 0 ? null : new FixedResponse(code, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Erzeugt einen reproduzierbaren Katalog mit zufälligen Titeln, Genres, Jahren und Ratings.
+     */
+    public static List<Movie> syntheticCatalog(int size, long seed) {
+        Random random = new Random(seed);
+        Genre[] genres = Genre.values();
+        List<Movie> movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            List<Genre> movieGenres = List.of(genres[random.nextInt(genres.length)], genres[random.nextInt(genres.length)])
+                    .stream().distinct().toList();
+            movies.add(new Movie(
+                    "movie-" + i,
+                    "Movie " + i,
+                    "Synthetic description number " + i + " " + "lorem ipsum ".repeat(1 + random.nextInt(20)),
+                    movieGenres,
+                    1950 + random.nextInt(75),
+                    "https://example.org/img/" + i + ".jpg",
+                    80 + random.nextInt(100),
+                    List.of("Director " + random.nextInt(size / 10 + 1)),
+                    List.of("Writer " + random.nextInt(size / 5 + 1)),
+                    List.of("Actor " + random.nextInt(size / 3 + 1), "Actor " + random.nextInt(size / 3 + 1)),
+                    Math.round(random.nextDouble() * 90) / 10.0
+            ));
+        }
+        return movies;
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                workers.submit(() -> serve(socket));
+            } catch (IOException e) {
+                // Server wurde geschlossen
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket; InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = socket.getOutputStream()) {
+            while (true) {
+                String requestLine = readLine(in);
+                if (requestLine == null || requestLine.isEmpty()) {
+                    return;
+                }
+                Map<String, String> headers = new HashMap<>();
+                String line;
+                while ((line = readLine(in)) != null && !line.isEmpty()) {
+                    int colon = line.indexOf(':');
+                    if (colon > 0) {
+                        headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+                    }
+                }
+                handle(requestLine, headers, out);
+                if ("close".equalsIgnoreCase(headers.get("connection"))) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // Client hat die Verbindung geschlossen
+        }
+    }
+
+    private void handle(String requestLine, Map<String, String> headers, OutputStream out) throws IOException {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        FixedResponse fixed = fixedResponse;
+        if (fixed != null) {
+            write(out, fixed.code(), "Fixed", fixed.body(), null);
+            return;
+        }
+        if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+            write(out, 500, "Internal Server Error", "{\"error\":\"injected\"}".getBytes(StandardCharsets.UTF_8), null);
+            return;
+        }
+
+        String[] parts = requestLine.split(" ");
+        String target = parts.length > 1 ? parts[1] : "/";
+        Map<String, String> params = parseQuery(target);
+        List<Movie> result;
+        try {
+            result = filter(params);
+            if (params.containsKey("limit")) {
+                int limit = Integer.parseInt(params.get("limit"));
+                int page = Integer.parseInt(params.getOrDefault("page", "0"));
+                if (limit < 1 || page < 0) {
+                    throw new IllegalArgumentException("limit must be positive and page non-negative");
+                }
+                int from = (int) Math.min(result.size(), (long) page * limit);
+                result = result.subList(from, Math.min(result.size(), from + limit));
+            }
+        } catch (IllegalArgumentException e) {
+            // Auch NumberFormatException und unbekannte Genres
+            write(out, 400, "Bad Request", "{\"error\":\"invalid parameter\"}".getBytes(StandardCharsets.UTF_8), null);
+            return;
+        }
+
+        byte[] json = GSON.toJson(result).getBytes(StandardCharsets.UTF_8);
+        String acceptEncoding = headers.getOrDefault("accept-encoding", "");
+        if (acceptEncoding.contains("gzip")) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            write(out, 200, "OK", compressed.toByteArray(), "gzip");
+        } else {
+            write(out, 200, "OK", json, null);
+        }
+    }
+
+    private List<Movie> filter(Map<String, String> params) {
+        String query = params.get("query");
+        String needle = query == null || query.isBlank() ? null : query.trim().toLowerCase(Locale.ROOT);
+        String genreParam = params.get("genre");
+        Genre genre = genreParam == null || genreParam.isBlank() ? null : Genre.valueOf(genreParam.trim());
+        String yearParam = params.get("releaseYear");
+        Integer year = yearParam == null || yearParam.isBlank() ? null : Integer.valueOf(yearParam.trim());
+        String ratingParam = params.get("ratingFrom");
+        Double rating = ratingParam == null || ratingParam.isBlank() ? null : Double.valueOf(ratingParam.trim());
+
+        List<Movie> result = new ArrayList<>();
+        for (Movie movie : catalog) {
+            if ((needle == null || mentions(movie, needle))
+                    && (genre == null || movie.getGenres().contains(genre))
+                    && (year == null || movie.getReleaseYear() == year)
+                    && (rating == null || movie.getRating() >= rating)) {
+                result.add(movie);
+            }
+        }
+        return result;
+    }
+
+    // Titel, Beschreibung und Namen, jeweils einzeln verglichen
+    private static boolean mentions(Movie movie, String needle) {
+        List<String> fields = new ArrayList<>(List.of(movie.getTitle(), movie.getDescription()));
+        fields.addAll(movie.getDirectors());
+        fields.addAll(movie.getWriters());
+        fields.addAll(movie.getMainCast());
+        for (String field : fields) {
+            if (field.toLowerCase(Locale.ROOT).contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void write(OutputStream out, int code, String reason, byte[] body, String encoding) throws IOException {
+        StringBuilder head = new StringBuilder()
+                .append("HTTP/1.1 ").append(code).append(' ').append(reason).append("\r\n")
+                .append("Content-Type: application/json; charset=utf-8\r\n")
+                .append("Content-Length: ").append(body.length).append("\r\n");
+        if (encoding != null) {
+            head.append("Content-Encoding: ").append(encoding).append("\r\n");
+        }
+        head.append("\r\n");
+        out.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+        out.write(body);
+        out.flush();
+    }
+
+    private static Map<String, String> parseQuery(String target) {
+        Map<String, String> params = new HashMap<>();
+        int question = target.indexOf('?');
+        if (question < 0) {
+            return params;
+        }
+        for (String pair : target.substring(question + 1).split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = in.read()) != -1) {
+            if (b == '\n') {
+                int length = line.length();
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            line.append((char) b);
+        }
+        return line.length() == 0 ? null : line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        workers.shutdownNow();
+    }
+}
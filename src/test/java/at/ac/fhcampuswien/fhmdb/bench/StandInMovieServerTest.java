@@ -0,0 +1,77 @@
+package at.ac.fhcampuswien.fhmdb.bench;
+
+import at.ac.fhcampuswien.fhmdb.api.HttpClientProvider;
+import at.ac.fhcampuswien.fhmdb.api.MovieAPI;
+import at.ac.fhcampuswien.fhmdb.models.Genre;
+import at.ac.fhcampuswien.fhmdb.models.Movie;
+import at.ac.fhcampuswien.fhmdb.models.MovieQueryEngine;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandInMovieServerTest {
+
+    @Test
+    void getMovies_againstStandIn_appliesGenreAndRatingFilters() throws Exception {
+        String previous = MovieAPI.getBaseUrl();
+        try (StandInMovieServer server = new StandInMovieServer(200, 0, 0.0)) {
+            // given:
+            MovieAPI.setBaseUrl(server.getBaseUrl());
+            // when:
+            List<Movie> all = MovieAPI.getMovies(null, null, null, null);
+            List<Movie> filtered = MovieAPI.getMovies(null, "DRAMA", null, "5");
+            // then:
+            assertEquals(200, all.size());
+            assertFalse(filtered.isEmpty());
+            assertTrue(filtered.stream().allMatch(m -> m.getGenres().contains(Genre.DRAMA) && m.getRating() >= 5));
+            assertEquals("gzip", MovieAPI.getTransferStats().getLast().encoding());
+        } finally {
+            MovieAPI.setBaseUrl(previous);
+        }
+    }
+
+    @Test
+    void getMovies_againstStandIn_matchesLocalQueryEngine() throws Exception {
+        String previous = MovieAPI.getBaseUrl();
+        try (StandInMovieServer server = new StandInMovieServer(300, 0, 0.0)) {
+            // given:
+            MovieAPI.setBaseUrl(server.getBaseUrl());
+            MovieQueryEngine engine = new MovieQueryEngine(StandInMovieServer.syntheticCatalog(300, 42L));
+            String[][] filters = {
+                    {"movie 1", null, null, null},
+                    {"ACTOR", "COMEDY", null, null},
+                    {null, null, "1999", null},
+                    {"lorem", "DRAMA", null, "4.5"},
+            };
+            for (String[] f : filters) {
+                // when:
+                List<String> remote = MovieAPI.getMovies(f[0], f[1], f[2], f[3]).stream().map(Movie::getId).toList();
+                List<String> local = engine.filter(f[0], f[1], f[2], f[3]).stream().map(Movie::getId).toList();
+                // then:
+                assertFalse(local.isEmpty(), Arrays.toString(f));
+                assertEquals(local, remote, Arrays.toString(f));
+            }
+        } finally {
+            MovieAPI.setBaseUrl(previous);
+        }
+    }
+
+    @Test
+    void paging_withMalformedOrNegativeValues_answers400() throws Exception {
+        try (StandInMovieServer server = new StandInMovieServer(10, 0, 0.0)) {
+            for (String paging : List.of("limit=abc", "limit=5&page=-1", "limit=-5", "limit=5&page=x")) {
+                // when:
+                Request request = new Request.Builder().url(server.getBaseUrl() + "?" + paging).build();
+                try (Response response = HttpClientProvider.getClient().newCall(request).execute()) {
+                    // then:
+                    assertEquals(400, response.code(), paging);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package at.ac.fhcampuswien.fhmdb.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, List<String>> flights = new SingleFlight<>(ArrayList::new);
+
+    @Test
+    void run_sameKeyWhileInFlight_startsLoaderOnlyOnce() {
+        // given:
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<List<String>> source = new CompletableFuture<>();
+        // when:
+        CompletableFuture<List<String>> first = flights.run("url", () -> {
+            loads.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<List<String>> second = flights.run("url", () -> {
+            loads.incrementAndGet();
+            return source;
+        });
+        source.complete(List.of("Inception"));
+        // then:
+        assertEquals(1, loads.get());
+        assertEquals(List.of("Inception"), first.join());
+        assertNotSame(first.join(), second.join());
+        assertEquals(0, flights.inFlight());
+    }
+
+    @Test
+    void run_allCallersCancel_cancelsSharedLoader() {
+        // given:
+        CompletableFuture<List<String>> source = new CompletableFuture<>();
+        CompletableFuture<List<String>> first = flights.run("url", () -> source);
+        CompletableFuture<List<String>> second = flights.run("url", () -> source);
+        // when:
+        first.cancel(true);
+        // then:
+        assertFalse(source.isCancelled());
+        second.cancel(true);
+        assertTrue(source.isCancelled());
+    }
+}
@@ -0,0 +1,44 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogDiffTest {
+
+    private static Movie movie(String id, String title, double rating) {
+        return new Movie(id, title, "", List.of(Genre.DRAMA), 2000, "", 100,
+                List.of("Director"), List.of(), List.of("Actor"), rating);
+    }
+
+    @Test
+    void between_classifiesAddedChangedAndRemoved() {
+        // given:
+        Movie unchanged = movie("1", "Same", 7.0);
+        Movie changed = movie("2", "Changed", 8.0);
+        Map<String, Long> stored = Map.of(
+                "1", MovieEntity.contentHash(unchanged),
+                "2", MovieEntity.contentHash(movie("2", "Changed", 7.5)),
+                "3", 42L);
+        // when:
+        CatalogDiff diff = CatalogDiff.between(stored, List.of(unchanged, changed, movie("4", "New", 6.0)));
+        // then:
+        assertEquals(List.of("4"), diff.added().stream().map(Movie::getId).toList());
+        assertEquals(List.of("2"), diff.changed().stream().map(Movie::getId).toList());
+        assertEquals(Set.of("3"), diff.removed());
+    }
+
+    @Test
+    void contentHash_ignoresGenreOrder() {
+        // given:
+        Movie a = new Movie("1", "T", "", List.of(Genre.DRAMA, Genre.CRIME), 2000, "", 1, List.of(), List.of(), List.of(), 1.0);
+        Movie b = new Movie("1", "T", "", List.of(Genre.CRIME, Genre.DRAMA), 2000, "", 1, List.of(), List.of(), List.of(), 1.0);
+        // then:
+        assertEquals(MovieEntity.contentHash(a), MovieEntity.contentHash(b));
+        assertTrue(CatalogDiff.between(Map.of("1", MovieEntity.contentHash(a)), List.of(b)).isEmpty());
+    }
+}
@@ -0,0 +1,65 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writeThenRead_restoresEveryField() throws Exception {
+        // given:
+        Path file = dir.resolve("catalog.snap");
+        List<Movie> movies = Movie.initializeMovies();
+        // when:
+        CatalogSnapshot.write(file, movies);
+        List<Movie> restored = CatalogSnapshot.read(file).orElseThrow();
+        // then:
+        assertEquals(movies.size(), restored.size());
+        for (int i = 0; i < movies.size(); i++) {
+            Movie expected = movies.get(i);
+            Movie actual = restored.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getRating(), actual.getRating());
+            assertEquals(MovieEntity.genresToMask(expected.getGenres()), MovieEntity.genresToMask(actual.getGenres()));
+            assertEquals(expected.getMainCast(), actual.getMainCast());
+            assertEquals(MovieEntity.contentHash(expected), MovieEntity.contentHash(actual));
+        }
+    }
+
+    @Test
+    void read_rejectsDamagedOrMissingFile() throws Exception {
+        // given:
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshot.write(file, Movie.initializeMovies());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 0x5A;
+        Files.write(file, bytes);
+        // then:
+        assertTrue(CatalogSnapshot.read(file).isEmpty());
+        assertTrue(CatalogSnapshot.read(dir.resolve("missing.snap")).isEmpty());
+    }
+
+    @Test
+    void read_releasesFileSoItCanBeReplacedAndDeleted() throws Exception {
+        // given:
+        Path file = dir.resolve("catalog.snap");
+        CatalogSnapshot.write(file, Movie.initializeMovies());
+        CatalogSnapshot.read(file).orElseThrow();
+        // when:
+        CatalogSnapshot.write(file, Movie.initializeMovies().subList(0, 1));
+        // then:
+        assertEquals(1, CatalogSnapshot.read(file).orElseThrow().size());
+        CatalogSnapshot.delete(file);
+        assertFalse(Files.exists(file));
+    }
+}
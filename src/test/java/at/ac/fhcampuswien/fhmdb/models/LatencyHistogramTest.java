@@ -0,0 +1,41 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void snapshot_percentilesWithinBucketPrecision() {
+        // given:
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000_000L);
+        }
+        // when:
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        // then:
+        assertEquals(1000, snapshot.count());
+        assertEquals(500_500, snapshot.meanMicros());
+        assertEquals(500_000, snapshot.p50Micros(), 500_000 * 0.07);
+        assertEquals(990_000, snapshot.p99Micros(), 990_000 * 0.07);
+        assertEquals(1_000_000, snapshot.maxMicros());
+    }
+
+    @Test
+    void buckets_coverValuesWithoutGaps() {
+        // then:
+        for (long value : new long[]{0, 7, 8, 9, 15, 16, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(LatencyHistogram.lowerBound(bucket) <= value);
+            assertTrue(value == Long.MAX_VALUE || LatencyHistogram.lowerBound(bucket + 1) > value);
+        }
+    }
+
+    @Test
+    void snapshot_emptyHistogramIsZero() {
+        // then:
+        assertEquals(new LatencyHistogram.Snapshot(0, 0, 0, 0, 0, 0), new LatencyHistogram().snapshot());
+    }
+}
@@ -0,0 +1,60 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieEntityTest {
+
+    @Test
+    void genreMask_roundTripsEveryGenre() {
+        // given:
+        EnumSet<Genre> all = EnumSet.allOf(Genre.class);
+        // when:
+        long mask = MovieEntity.genresToMask(all);
+        // then:
+        assertEquals((1L << Genre.values().length) - 1, mask);
+        assertEquals(all, MovieEntity.genresFromMask(mask));
+    }
+
+    @Test
+    void genreMask_ignoresNullAndDuplicates() {
+        // when:
+        long mask = MovieEntity.genresToMask(Arrays.asList(Genre.DRAMA, null, Genre.DRAMA, Genre.ACTION));
+        // then:
+        assertEquals(MovieEntity.genreBit(Genre.DRAMA) | MovieEntity.genreBit(Genre.ACTION), mask);
+        assertEquals(0L, MovieEntity.genresToMask(null));
+    }
+
+    @Test
+    void toMovies_restoresGenresInDeclarationOrder() {
+        // given:
+        MovieEntity entity = MovieEntity.fromMovies(List.of(
+                new Movie("Heat", "", List.of(Genre.THRILLER, Genre.CRIME, Genre.ACTION)))).get(0);
+        // when:
+        Movie movie = MovieEntity.toMovies(List.of(entity)).get(0);
+        // then:
+        assertEquals(List.of(Genre.ACTION, Genre.CRIME, Genre.THRILLER), movie.getGenres());
+    }
+
+    @Test
+    void fromMovies_sharesOnePersonPerNameAndKeepsCreditOrder() {
+        // given:
+        Movie first = new Movie("1", "A", "", List.of(), 2000, "", 90,
+                List.of("Nolan"), List.of("Nolan", "Goyer"), List.of("Bale", "Caine"), 8.0);
+        Movie second = new Movie("2", "B", "", List.of(), 2001, "", 90,
+                List.of("Nolan"), List.of(), List.of("Caine"), 7.0);
+        // when:
+        List<MovieEntity> entities = MovieEntity.fromMovies(List.of(first, second));
+        Movie restored = MovieEntity.toMovies(entities).get(0);
+        // then:
+        assertSame(entities.get(0).getCredits().get(0).getPerson(), entities.get(1).getCredits().get(0).getPerson());
+        assertEquals(List.of("Nolan"), restored.getDirectors());
+        assertEquals(List.of("Nolan", "Goyer"), restored.getWriters());
+        assertEquals(List.of("Bale", "Caine"), restored.getMainCast());
+    }
+}
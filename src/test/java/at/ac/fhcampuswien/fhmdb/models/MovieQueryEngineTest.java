@@ -0,0 +1,50 @@
+package at.ac.fhcampuswien.fhmdb.models;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieQueryEngineTest {
+
+    private MovieQueryEngine engine;
+
+    @BeforeEach
+    public void cleanStart() {
+        engine = new MovieQueryEngine(Movie.initializeMovies());
+    }
+
+    @Test
+    void filter_withoutParameters_returnsWholeCatalog() {
+        // when:
+        List<Movie> actual = engine.filter(null, "", " ", null);
+        // then:
+        assertEquals(Movie.initializeMovies().size(), actual.size());
+    }
+
+    @Test
+    void filter_queryMatchesTitleAndCastCaseInsensitive() {
+        // when:
+        List<Movie> byTitle = engine.filter("matrix", null, null, null);
+        List<Movie> byCast = engine.filter("ELIJAH wood", null, null, null);
+        // then:
+        assertEquals(List.of("The Matrix"), byTitle.stream().map(Movie::getTitle).toList());
+        assertEquals(2, byCast.size());
+    }
+
+    @Test
+    void filter_combinesGenreYearAndRating() {
+        // when:
+        List<Movie> actual = engine.filter(null, "DRAMA", "2008", "9");
+        // then:
+        assertEquals(List.of("The Dark Knight"), actual.stream().map(Movie::getTitle).toList());
+        assertTrue(engine.filter(null, "DRAMA", "2008", "9.1").isEmpty());
+    }
+
+    @Test
+    void filter_invalidYear_throwsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class, () -> engine.filter(null, null, "abc", null));
+    }
+}